@@ -0,0 +1,13 @@
+package com.dgw.mproject.conf;
+
+import com.dgw.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Les routes {@code lb://} choisissent l'instance la moins lente parmi deux tirées au hasard.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,40 @@
+package com.dgw.mproject.conf;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.Set;
+
+/**
+ * Routage par affinité : toutes les requêtes {@code /api/projects/{projectId}/**} d'un même projet sont envoyées à la
+ * même instance de project-service (anneau de hachage cohérent), pour que ses caches locaux soient efficaces.
+ * Désactivé par défaut, activé avec {@code gateway.consistent-hash.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.consistent-hash", name = "enabled")
+@LoadBalancerClient(name = ProjectAffinityConfig.PROJECT_SERVICE, configuration = ProjectAffinityLoadBalancerConfiguration.class)
+public class ProjectAffinityConfig {
+
+    static final String PROJECT_SERVICE = "mproject-project-service";
+
+    /**
+     * @return l'identifiant de projet du chemin de la requête, ou {@code null} pour les autres requêtes
+     */
+    static String projectId(Request<?> request, PathPattern pathPattern, Set<String> ignoredKeys) {
+        if (!(request.getContext() instanceof RequestDataContext context) || context.getClientRequest() == null) {
+            return null;
+        }
+        PathPattern.PathMatchInfo matchInfo = pathPattern.matchAndExtract(
+                PathContainer.parsePath(context.getClientRequest().getUrl().getRawPath()));
+        if (matchInfo == null) {
+            return null;
+        }
+        String projectId = matchInfo.getUriVariables().get("projectId");
+        return projectId == null || ignoredKeys.contains(projectId) ? null : projectId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dgw.mproject.conf;
+
+import com.dgw.loadbalancer.ConsistentHashLoadBalancer;
+import com.dgw.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Set;
+
+/**
+ * Configuration du load balancer de project-service, déclarée par {@link ProjectAffinityConfig}. Pas de
+ * {@code @Configuration} : elle est instanciée dans le contexte enfant de project-service uniquement.
+ */
+public class ProjectAffinityLoadBalancerConfiguration {
+
+    @Bean
+    public ConsistentHashLoadBalancer projectAffinityLoadBalancer(Environment environment,
+                                                                  LoadBalancerClientFactory loadBalancerClientFactory) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        PathPattern pathPattern = PathPatternParser.defaultInstance.parse(
+                environment.getProperty("gateway.consistent-hash.path-pattern", "/api/projects/{projectId}/**"));
+        Set<String> ignoredKeys = Set.of(environment.getProperty("gateway.consistent-hash.ignored-keys", String[].class,
+                new String[]{"my-projects"}));
+        return new ConsistentHashLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                environment.getProperty("gateway.consistent-hash.virtual-nodes", Integer.class, 160),
+                request -> ProjectAffinityConfig.projectId(request, pathPattern, ignoredKeys),
+                LatencyAwareLoadBalancerConfiguration.create(environment, loadBalancerClientFactory));
+    }
+}
@@ -0,0 +1,29 @@
+package com.dgw.mproject.conf;
+
+import com.dgw.mproject.filter.RateLimitFilter;
+import com.dgw.mproject.ratelimit.InMemoryRateLimitBackend;
+import com.dgw.mproject.ratelimit.RateLimitBackend;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "gateway.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RateLimitBackend rateLimitBackend(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new InMemoryRateLimitBackend(properties.idleEviction(), meterRegistry);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitBackend rateLimitBackend, RateLimitProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(rateLimitBackend, properties, meterRegistry);
+    }
+}
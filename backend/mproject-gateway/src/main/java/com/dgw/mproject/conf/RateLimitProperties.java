@@ -0,0 +1,38 @@
+package com.dgw.mproject.conf;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Rate limits of the gateway. A request is counted against the first rule matching its route id and path (both
+ * optional in a rule), or against {@code default-limit}; each rule keeps one bucket per user, or per client IP for
+ * anonymous requests.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("10m") Duration idleEviction,
+                                  Limit defaultLimit,
+                                  List<Rule> rules) {
+
+    public RateLimitProperties {
+        defaultLimit = defaultLimit != null ? defaultLimit : new Limit(100, 50);
+        rules = rules != null ? rules : List.of();
+    }
+
+    /**
+     * @param capacity        requests allowed in a burst
+     * @param refillPerSecond sustained requests per second
+     */
+    public record Limit(int capacity, double refillPerSecond) {
+    }
+
+    /**
+     * @param route id of the gateway route, any route when absent
+     * @param path  path pattern, such as {@code /api/projects/{projectId}/export}, any path when absent
+     */
+    public record Rule(String name, String route, String path, Limit limit) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.dgw.mproject.conf;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Micro-cache of the gateway. Only the successful GET responses of {@code paths} are cached, for {@code ttl}, per
+ * user; {@code max-size} bounds the total size of the cached bodies.
+ */
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public record ResponseCacheProperties(@DefaultValue("true") boolean enabled,
+                                      @DefaultValue("2s") Duration ttl,
+                                      @DefaultValue("32MB") DataSize maxSize,
+                                      @DefaultValue("256KB") DataSize maxEntrySize,
+                                      List<String> paths) {
+
+    public ResponseCacheProperties {
+        paths = paths != null ? paths : List.of();
+    }
+}
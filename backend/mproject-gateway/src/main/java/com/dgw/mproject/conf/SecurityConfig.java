@@ -2,12 +2,17 @@ package com.dgw.mproject.conf;
 
 import com.dgw.mproject.filter.JwtTokenFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.context.ServerSecurityContextRepository;
+import org.springframework.security.web.server.context.WebSessionServerSecurityContextRepository;
+import org.springframework.security.web.server.savedrequest.NoOpServerRequestCache;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
@@ -22,10 +27,27 @@ public class SecurityConfig {
 
     private final JwtTokenFilter jwtTokenFilter;
 
+    /**
+     * In stateless mode (the default) the authentication built by {@link JwtTokenFilter} only lives in the Reactor
+     * context of the request: no {@code WebSession} is created, loaded or stored. Every request carries its JWT anyway.
+     */
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public static ServerSecurityContextRepository securityContextRepository(
+            @Value("${gateway.security.stateless:true}") boolean stateless) {
+        return stateless ? NoOpServerSecurityContextRepository.getInstance() : new WebSessionServerSecurityContextRepository();
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ServerSecurityContextRepository securityContextRepository,
+                                                         @Value("${gateway.security.stateless:true}") boolean stateless) {
+        if (stateless) {
+            // The default request cache would otherwise open a session to remember the request rejected as unauthenticated
+            http.requestCache(requestCache -> requestCache.requestCache(NoOpServerRequestCache.getInstance()));
+        }
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .securityContextRepository(securityContextRepository)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeExchange(exchange -> exchange
                         .pathMatchers("/api/auth/login", "/api/users/create", "/project-service/**", "/actuator/**").permitAll()
@@ -0,0 +1,24 @@
+package com.dgw.mproject.conf;
+
+import com.dgw.observability.FileSpanRecorder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+@ConditionalOnProperty(prefix = "gateway.tracing", name = "file")
+public class TracingConfig {
+
+    @Bean(destroyMethod = "close")
+    public FileSpanRecorder fileSpanRecorder(TracingProperties properties, MeterRegistry meterRegistry) {
+        FileSpanRecorder recorder = new FileSpanRecorder(properties.file(), properties.queueCapacity());
+        FunctionCounter.builder("gateway.tracing.dropped-spans", recorder, FileSpanRecorder::dropped)
+                .description("Spans dropped because the span file could not keep up")
+                .register(meterRegistry);
+        return recorder;
+    }
+}
@@ -0,0 +1,15 @@
+package com.dgw.mproject.conf;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Export local des spans du Gateway, une ligne JSON par span dans {@code file}. Désactivé tant que {@code file} n'est
+ * pas renseigné ; au-delà de {@code queue-capacity} spans en attente d'écriture, les suivants sont ignorés.
+ */
+@ConfigurationProperties(prefix = "gateway.tracing")
+public record TracingProperties(Path file,
+                                @DefaultValue("10000") int queueCapacity) {
+}
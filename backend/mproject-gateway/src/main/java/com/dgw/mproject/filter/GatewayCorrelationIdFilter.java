@@ -1,24 +1,55 @@
 package com.dgw.mproject.filter;
 
-import org.slf4j.MDC;
+import com.dgw.mproject.tracing.TraceContext;
+import com.dgw.observability.ServerTiming;
+import com.dgw.observability.Span;
+import com.dgw.observability.SpanRecorder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 
 /**
  * Filtre global du Gateway pour gérer et propager le Correlation ID dans les requêtes et les logs.
+ * <p>
+ * Le Correlation ID et l'identifiant du span de la requête sont placés dans le {@code Context} Reactor
+ * ({@link TraceContext}), d'où ils sont recopiés dans le MDC pour chaque log, même quand l'event loop alterne entre
+ * plusieurs requêtes. En fin de requête, les spans de la requête et de l'appel au service en aval sont transmis au
+ * {@link SpanRecorder}, s'il y en a un.
+ * <p>
+ * Complète aussi le header {@code Server-Timing} renvoyé par le service en aval (ses étapes, dont {@code app}, son
+ * temps de traitement) avec {@code upstream}, le temps jusqu'à sa réponse vu du Gateway, et {@code gateway}, le temps
+ * passé dans le Gateway avant de transmettre la requête. {@code upstream - app} est le coût du saut réseau.
  */
 @Component
 public class GatewayCorrelationIdFilter implements GlobalFilter, Ordered {
 
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+    private static final String GATEWAY_TIMING = "gateway";
+    private static final String UPSTREAM_TIMING = "upstream";
+
+    private final SpanRecorder spanRecorder;
+
+    public GatewayCorrelationIdFilter(ObjectProvider<SpanRecorder> spanRecorder) {
+        this.spanRecorder = spanRecorder.getIfAvailable(() -> SpanRecorder.NOOP);
+    }
 
     /**
      * Méthode principale du filtre, exécutée pour chaque requête.
@@ -29,15 +60,14 @@ public class GatewayCorrelationIdFilter implements GlobalFilter, Ordered {
      */
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestTimes times = new RequestTimes();
         ServerHttpRequest request = exchange.getRequest();
 
         String correlationId = request.getHeaders().getFirst(CORRELATION_ID_HEADER);
         if (correlationId == null || correlationId.isBlank()) {
             correlationId = UUID.randomUUID().toString();
         }
-
-        // Ajoute le Correlation ID au MDC (Mapped Diagnostic Context) pour les logs
-        MDC.put(CORRELATION_ID_HEADER, correlationId);
+        TraceContext traceContext = new TraceContext(correlationId, Span.newId());
 
         // Ajouter le Correlation ID dans les headers des requêtes vers les services en aval
         // ServerHttpRequest est immutable, donc nous devons créer une nouvelle instance
@@ -48,14 +78,67 @@ public class GatewayCorrelationIdFilter implements GlobalFilter, Ordered {
         // Ajouter le Correlation ID dans la réponse (la response n'est pas immutable)
         exchange.getResponse().getHeaders().add(CORRELATION_ID_HEADER, correlationId);
 
+        // Les headers de la réponse du service en aval sont déjà copiés quand la réponse part vers le client
+        exchange.getResponse().beforeCommit(() -> {
+            times.committed = System.nanoTime();
+            addServerTiming(exchange.getResponse().getHeaders(), times, exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_START_ATTR));
+            return Mono.empty();
+        });
+
         // Créer un échange modifié avec la nouvelle requête
         ServerWebExchange mutatedExchange = exchange.mutate().request(mutatedRequest).build();
 
-        // Continue le traitement de la requête via la chaîne de filtres
-        return chain.filter(mutatedExchange).doFinally(signalType -> {
-            // Nettoie le MDC après le traitement de la requête
-            MDC.clear();
-        });
+        // Continue le traitement de la requête via la chaîne de filtres, le TraceContext remplace le MDC du thread
+        return chain.filter(mutatedExchange)
+                .doFinally(signalType -> recordSpans(exchange, traceContext, times))
+                .contextWrite(context -> context.put(TraceContext.KEY, traceContext));
+    }
+
+    private static void addServerTiming(HttpHeaders headers, RequestTimes times, Long upstreamStart) {
+        List<String> metrics = new ArrayList<>(headers.getOrEmpty(ServerTiming.HEADER));
+        if (upstreamStart != null) {
+            metrics.add(ServerTiming.metric(UPSTREAM_TIMING, times.committed - upstreamStart));
+            metrics.add(ServerTiming.metric(GATEWAY_TIMING, upstreamStart - times.start));
+        } else {
+            // Réponse produite par le Gateway lui-même (cache, rate limiting, erreur)
+            metrics.add(ServerTiming.metric(GATEWAY_TIMING, times.committed - times.start));
+        }
+        headers.set(ServerTiming.HEADER, String.join(", ", metrics));
+    }
+
+    private void recordSpans(ServerWebExchange exchange, TraceContext traceContext, RequestTimes times) {
+        if (spanRecorder == SpanRecorder.NOOP) {
+            return;
+        }
+        long end = System.nanoTime();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("http.method", exchange.getRequest().getMethod().name());
+        tags.put("http.path", exchange.getRequest().getPath().value());
+        if (status != null) {
+            tags.put("http.status_code", Integer.toString(status.value()));
+        }
+        if (route != null) {
+            tags.put("route", route.getId());
+        }
+        spanRecorder.record(new Span(traceContext.correlationId(), traceContext.spanId(), null,
+                exchange.getRequest().getMethod().name() + ' ' + (route != null ? route.getId() : GATEWAY_TIMING),
+                times.startMicros, micros(end - times.start), tags));
+
+        Long upstreamStart = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_START_ATTR);
+        if (upstreamStart != null) {
+            URI upstreamUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+            long upstreamEnd = times.committed != 0 ? times.committed : end;
+            spanRecorder.record(new Span(traceContext.correlationId(), Span.newId(), traceContext.spanId(), UPSTREAM_TIMING,
+                    times.startMicros + micros(upstreamStart - times.start), micros(upstreamEnd - upstreamStart),
+                    upstreamUrl != null ? Map.of("http.url", upstreamUrl.toString()) : Map.of()));
+        }
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
     }
 
     /**
@@ -67,4 +150,11 @@ public class GatewayCorrelationIdFilter implements GlobalFilter, Ordered {
     public int getOrder() {
         return Ordered.HIGHEST_PRECEDENCE; // Exécuter ce filtre en priorité
     }
+
+    private static final class RequestTimes {
+
+        private final long start = System.nanoTime();
+        private final long startMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        private volatile long committed;
+    }
 }
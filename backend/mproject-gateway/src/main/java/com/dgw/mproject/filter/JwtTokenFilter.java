@@ -1,5 +1,7 @@
 package com.dgw.mproject.filter;
 
+import com.dgw.jwt.GatewayIdentity;
+import com.dgw.jwt.JwtVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -12,7 +14,6 @@ import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
-import org.springframework.security.web.server.context.WebSessionServerSecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -27,12 +28,21 @@ public class JwtTokenFilter implements WebFilter {
 
     public static final String BEARER_PREFIX = "Bearer ";
 
-    private final JwtTokenUtil jwtTokenUtil;
+    private final JwtVerifier jwtVerifier;
 
-    private final ServerSecurityContextRepository securityContextRepository = new WebSessionServerSecurityContextRepository();
+    private final GatewayIdentity gatewayIdentity;
+
+    private final ServerSecurityContextRepository securityContextRepository;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // Only the gateway may assert an identity to downstream services
+        if (exchange.getRequest().getHeaders().containsKey(GatewayIdentity.HEADER)) {
+            exchange = exchange.mutate()
+                    .request(request -> request.headers(headers -> headers.remove(GatewayIdentity.HEADER)))
+                    .build();
+        }
+
         String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
         if (header == null || !header.startsWith(BEARER_PREFIX)) {
@@ -43,7 +53,7 @@ public class JwtTokenFilter implements WebFilter {
         String token = header.substring(BEARER_PREFIX.length());
         JWTClaimsSet jwtClaimsSet;
         try {
-            jwtClaimsSet = jwtTokenUtil.parseToken(token);
+            jwtClaimsSet = jwtVerifier.verify(token);
         } catch (Exception e) {
             return this.unauthorizedResponse(exchange.getResponse());
         }
@@ -55,14 +65,22 @@ public class JwtTokenFilter implements WebFilter {
             SecurityContextImpl securityContext = new SecurityContextImpl();
             securityContext.setAuthentication(authentication);
 
-            return this.securityContextRepository.save(exchange, securityContext)
-                    .then(chain.filter(exchange))
+            ServerWebExchange authenticatedExchange = this.withGatewayIdentity(exchange, username);
+            return this.securityContextRepository.save(authenticatedExchange, securityContext)
+                    .then(chain.filter(authenticatedExchange))
                     .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
         }
 
         return chain.filter(exchange);
     }
 
+    private ServerWebExchange withGatewayIdentity(ServerWebExchange exchange, String username) {
+        String identityHeader = this.gatewayIdentity.sign(username);
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> headers.set(GatewayIdentity.HEADER, identityHeader)))
+                .build();
+    }
+
     private Mono<Void> unauthorizedResponse(ServerHttpResponse response) {
         response.setStatusCode(HttpStatus.UNAUTHORIZED);
         return response.setComplete();
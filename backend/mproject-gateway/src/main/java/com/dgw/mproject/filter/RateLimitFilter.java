@@ -0,0 +1,132 @@
+package com.dgw.mproject.filter;
+
+import com.dgw.mproject.conf.RateLimitProperties;
+import com.dgw.mproject.ratelimit.RateLimitBackend;
+import com.dgw.mproject.ratelimit.RateLimitDecision;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Filtre global limitant le débit des requêtes par utilisateur (sujet du JWT, ou IP pour les requêtes anonymes) et
+ * par règle de {@link RateLimitProperties}. Les requêtes refusées reçoivent un 429 avec {@code Retry-After}.
+ */
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final String DEFAULT_RULE = "default";
+
+    private final RateLimitBackend backend;
+    private final RateLimitProperties.Limit defaultLimit;
+    private final List<CompiledRule> rules;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitBackend backend, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.backend = backend;
+        this.defaultLimit = properties.defaultLimit();
+        this.rules = properties.rules().stream().map(CompiledRule::new).toList();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        CompiledRule rule = matchingRule(exchange);
+        String ruleName = rule != null ? rule.name : DEFAULT_RULE;
+        RateLimitProperties.Limit limit = rule != null ? rule.limit : defaultLimit;
+
+        return clientKey(exchange)
+                .flatMap(client -> backend.tryAcquire(ruleName + '|' + client, limit))
+                .flatMap(decision -> {
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.getHeaders().set(LIMIT_HEADER, Long.toString(decision.limit()));
+                    response.getHeaders().set(REMAINING_HEADER, Long.toString(decision.remaining()));
+                    if (decision.allowed()) {
+                        return chain.filter(exchange);
+                    }
+                    return reject(response, ruleName, decision);
+                });
+    }
+
+    private CompiledRule matchingRule(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+        for (CompiledRule rule : rules) {
+            if (rule.matches(routeId, exchange)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static Mono<String> clientKey(ServerWebExchange exchange) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken))
+                .map(Authentication::getName)
+                .map(name -> "user:" + name)
+                .switchIfEmpty(Mono.fromSupplier(() -> "ip:" + clientIp(exchange)));
+    }
+
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, String ruleName, RateLimitDecision decision) {
+        meterRegistry.counter("gateway.rate-limit.rejected", "rule", ruleName).increment();
+        long retryAfterSeconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    /**
+     * Après {@link GatewayCorrelationIdFilter}, pour que les réponses 429 portent aussi le Correlation ID.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    private static final class CompiledRule {
+
+        private final String name;
+        private final String routeId;
+        private final PathPattern path;
+        private final RateLimitProperties.Limit limit;
+
+        private CompiledRule(RateLimitProperties.Rule rule) {
+            this.name = rule.name();
+            this.routeId = rule.route();
+            this.path = rule.path() != null ? PathPatternParser.defaultInstance.parse(rule.path()) : null;
+            this.limit = rule.limit();
+        }
+
+        private boolean matches(String requestRouteId, ServerWebExchange exchange) {
+            return (routeId == null || routeId.equals(requestRouteId))
+                    && (path == null || path.matches(exchange.getRequest().getPath().pathWithinApplication()));
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.dgw.mproject.filter;
+
+import com.dgw.mproject.conf.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtre global mettant en cache, quelques secondes, les réponses 200 des GET déclarés dans
+ * {@link ResponseCacheProperties}. La clé contient la route, le chemin, la query et l'utilisateur : les données d'un
+ * utilisateur ne sont jamais servies à un autre. Chaque réponse porte un ETag, et un {@code If-None-Match}
+ * correspondant reçoit un 304 sans corps.
+ * <p>
+ * Une écriture réussie (tout autre méthode que GET, HEAD, OPTIONS et TRACE) invalide les réponses en cache de son
+ * utilisateur, quel que soit le chemin : il relit toujours ses propres écritures. La clé contient pour cela une
+ * génération par utilisateur, changée à chaque écriture ; les entrées des générations précédentes ne sont plus lues
+ * et expirent avec le TTL.
+ */
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_HEADER = "X-Gateway-Cache";
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final Cache<String, CachedResponse> cache;
+    // Génération des clés par utilisateur : gardée au moins aussi longtemps que les entrées écrites avant elle
+    private final Cache<String, Long> generations;
+    private final AtomicLong lastGeneration = new AtomicLong();
+    private final List<PathPattern> paths;
+    private final long maxEntrySize;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.ttl())
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .build();
+        this.generations = Caffeine.newBuilder()
+                .expireAfterWrite(properties.ttl())
+                .build();
+        this.paths = properties.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.maxEntrySize = properties.maxEntrySize().toBytes();
+        this.hits = meterRegistry.counter("gateway.response-cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("gateway.response-cache.requests", "result", "miss");
+        this.notModified = meterRegistry.counter("gateway.response-cache.requests", "result", "not-modified");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (isWrite(request.getMethod())) {
+            return subject().flatMap(subject -> {
+                exchange.getResponse().beforeCommit(() -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        generations.put(subject, lastGeneration.incrementAndGet());
+                    }
+                    return Mono.empty();
+                });
+                return chain.filter(exchange);
+            });
+        }
+        if (request.getMethod() != HttpMethod.GET || !isCacheable(request)) {
+            return chain.filter(exchange);
+        }
+
+        return subject().flatMap(subject -> {
+            String key = key(exchange, subject);
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+            return chain.filter(exchange.mutate().response(new CachingResponse(exchange, key)).build());
+        });
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS
+                && method != HttpMethod.TRACE;
+    }
+
+    private boolean isCacheable(ServerHttpRequest request) {
+        for (PathPattern path : paths) {
+            if (path.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Mono<String> subject() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken))
+                .map(Authentication::getName)
+                .defaultIfEmpty(ANONYMOUS);
+    }
+
+    private String key(ServerWebExchange exchange, String subject) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        String query = request.getURI().getRawQuery();
+        Long generation = generations.getIfPresent(subject);
+        return (route != null ? route.getId() : "") + ' ' + request.getPath().value()
+                + (query != null ? '?' + query : "") + ' ' + subject + '#' + (generation != null ? generation : 0);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setETag(cached.etag());
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+        if (isNotModified(exchange.getRequest(), cached.etag())) {
+            notModified.increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        hits.increment();
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            response.getHeaders().setContentType(cached.contentType());
+        }
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Une réponse {@code Cache-Control: no-store} ou {@code private} n'est jamais mise en cache.
+     */
+    private static boolean forbidsCaching(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String name = directive.trim().toLowerCase(Locale.ROOT);
+            if (name.startsWith("no-store") || name.startsWith("private")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comparaison faible de la RFC 9110 (section 8.8.3.2) : {@code If-None-Match} peut lister plusieurs ETags, faibles
+     * ({@code W/"..."}) ou forts, qui correspondent quand leurs valeurs sont égales, préfixe {@code W/} ignoré.
+     */
+    private static boolean isNotModified(ServerHttpRequest request, String etag) {
+        String opaqueTag = opaqueTag(etag);
+        for (String tag : request.getHeaders().getIfNoneMatch()) {
+            if (tag.equals("*") || opaqueTag(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Juste après {@link RateLimitFilter} : une réponse servie depuis le cache reste décomptée du quota.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    private record CachedResponse(MediaType contentType, byte[] body, String etag) {
+    }
+
+    /**
+     * Agrège le corps de la réponse du service pour le mettre en cache et calculer son ETag. Les réponses en erreur,
+     * trop grosses, posant un cookie ou interdisant le cache ({@code no-store}, {@code private}) passent sans être
+     * agrégées ; au plus {@code maxEntrySize} octets sont gardés en mémoire par requête.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+        private final String key;
+
+        private CachingResponse(ServerWebExchange exchange, String key) {
+            super(exchange.getResponse());
+            this.request = exchange.getRequest();
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            if ((status != null && status.value() != HttpStatus.OK.value())
+                    || headers.getContentLength() > maxEntrySize
+                    || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || forbidsCaching(headers)) {
+                return super.writeWith(body);
+            }
+
+            // Sans Content-Length (réponse chunked), la taille n'est connue qu'en lisant le corps : on n'en garde
+            // que maxEntrySize octets, au-delà le préfixe déjà lu et la suite sont transmis sans être mis en cache.
+            AtomicLong size = new AtomicLong();
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxEntrySize)
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .switchOnFirst((first, chunks) -> {
+                        if (size.get() > maxEntrySize) {
+                            return super.writeWith(chunks.concatMapIterable(buffers -> buffers));
+                        }
+                        return chunks.next()
+                                .map(CachingResponse::toBytes)
+                                .defaultIfEmpty(new byte[0])
+                                .flatMap(bytes -> cacheAndWrite(bytes, headers));
+                    })
+                    .then();
+        }
+
+        private Mono<Void> cacheAndWrite(byte[] bytes, HttpHeaders headers) {
+            String etag = headers.getETag() != null ? headers.getETag() : '"' + DigestUtils.md5DigestAsHex(bytes) + '"';
+            cache.put(key, new CachedResponse(headers.getContentType(), bytes, etag));
+            headers.setETag(etag);
+            headers.set(CACHE_HEADER, "MISS");
+            if (isNotModified(request, etag)) {
+                notModified.increment();
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                return getDelegate().setComplete();
+            }
+            misses.increment();
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+
+        private static byte[] toBytes(List<DataBuffer> buffers) {
+            int length = 0;
+            for (DataBuffer buffer : buffers) {
+                length += buffer.readableByteCount();
+            }
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            for (DataBuffer buffer : buffers) {
+                int count = buffer.readableByteCount();
+                buffer.read(bytes, offset, count);
+                offset += count;
+                DataBufferUtils.release(buffer);
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.dgw.mproject.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Note l'instant où la requête part vers le service en aval, juste avant {@link NettyRoutingFilter}. Tout ce qui
+ * précède (authentification, rate limiting, choix de l'instance) est le temps passé dans le Gateway, voir
+ * {@link GatewayCorrelationIdFilter}.
+ */
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    public static final String UPSTREAM_START_ATTR = UpstreamTimingFilter.class.getName() + ".upstreamStart";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        exchange.getAttributes().put(UPSTREAM_START_ATTR, System.nanoTime());
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+}
@@ -0,0 +1,102 @@
+package com.dgw.mproject.ratelimit;
+
+import com.dgw.mproject.conf.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets held in the memory of this gateway instance.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} updated by compare-and-set (GCRA: the "theoretical arrival time" of
+ * the next request), so concurrent requests never lock. A bucket whose arrival time is older than
+ * {@code idleEviction} is full and unused: it is removed in the background, and recreated full when needed.
+ */
+@Slf4j
+public class InMemoryRateLimitBackend implements RateLimitBackend, AutoCloseable {
+
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final long idleEvictionNanos;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService evictionScheduler;
+
+    public InMemoryRateLimitBackend(Duration idleEviction, MeterRegistry meterRegistry) {
+        this(idleEviction, System::nanoTime);
+        long period = Math.max(1, idleEviction.toSeconds() / 2);
+        evictionScheduler.scheduleWithFixedDelay(this::evictIdleBuckets, period, period, TimeUnit.SECONDS);
+        meterRegistry.gaugeMapSize("gateway.rate-limit.buckets", Tags.empty(), buckets);
+    }
+
+    InMemoryRateLimitBackend(Duration idleEviction, LongSupplier nanoClock) {
+        this.idleEvictionNanos = idleEviction.toNanos();
+        this.nanoClock = nanoClock;
+        this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("rate-limit-eviction-"));
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryAcquire(String key, RateLimitProperties.Limit limit) {
+        return Mono.just(acquire(key, limit));
+    }
+
+    RateLimitDecision acquire(String key, RateLimitProperties.Limit limit) {
+        long now = nanoClock.getAsLong();
+        return buckets.computeIfAbsent(key, k -> new Bucket(limit, now)).tryAcquire(now);
+    }
+
+    void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        // A request racing with the removal is counted on a full bucket: at most one token is given back
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> now - bucket.theoreticalArrival.get() > idleEvictionNanos);
+        log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    @Override
+    public void close() {
+        evictionScheduler.shutdownNow();
+    }
+
+    private static final class Bucket {
+
+        private final long capacity;
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final AtomicLong theoreticalArrival;
+
+        private Bucket(RateLimitProperties.Limit limit, long now) {
+            this.capacity = limit.capacity();
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / limit.refillPerSecond());
+            this.burstToleranceNanos = emissionIntervalNanos * capacity;
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        private RateLimitDecision tryAcquire(long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = Math.max(current, now) + emissionIntervalNanos;
+                long backlog = next - now;
+                if (backlog > burstToleranceNanos) {
+                    return new RateLimitDecision(false, capacity, 0, Duration.ofNanos(backlog - burstToleranceNanos));
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return new RateLimitDecision(true, capacity, (burstToleranceNanos - backlog) / emissionIntervalNanos, Duration.ZERO);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.dgw.mproject.ratelimit;
+
+import com.dgw.mproject.conf.RateLimitProperties;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores the token buckets of the rate limiter. {@link InMemoryRateLimitBackend} limits each gateway instance on
+ * its own; a backend shared between instances can be plugged in behind this interface.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Takes one token from the bucket identified by {@code key}, created full with {@code limit} when missing.
+     */
+    Mono<RateLimitDecision> tryAcquire(String key, RateLimitProperties.Limit limit);
+}
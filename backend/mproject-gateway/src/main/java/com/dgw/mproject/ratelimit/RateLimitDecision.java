@@ -0,0 +1,11 @@
+package com.dgw.mproject.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * @param limit      capacity of the bucket
+ * @param remaining  tokens left after this request
+ * @param retryAfter time until a token is available again, zero when the request is allowed
+ */
+public record RateLimitDecision(boolean allowed, long limit, long remaining, Duration retryAfter) {
+}
@@ -0,0 +1,17 @@
+package com.dgw.mproject.tracing;
+
+/**
+ * Identifiants de traçage de la requête en cours. Ils voyagent avec la requête dans le {@code Context} Reactor, sous
+ * la clé {@link #KEY}, et non dans un ThreadLocal : un thread de l'event loop Netty traite plusieurs requêtes à la
+ * fois. {@link TraceContextAccessor} les recopie dans le MDC le temps de chaque signal, pour les logs.
+ *
+ * @param correlationId le Correlation ID, transmis aux services en aval
+ * @param spanId        l'identifiant du span de la requête dans le Gateway
+ */
+public record TraceContext(String correlationId, String spanId) {
+
+    public static final String KEY = "gateway.trace-context";
+
+    public static final String CORRELATION_ID_MDC_KEY = "X-Correlation-ID";
+    public static final String SPAN_ID_MDC_KEY = "spanId";
+}
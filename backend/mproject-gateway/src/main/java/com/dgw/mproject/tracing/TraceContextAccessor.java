@@ -0,0 +1,36 @@
+package com.dgw.mproject.tracing;
+
+import io.micrometer.context.ThreadLocalAccessor;
+import org.slf4j.MDC;
+
+/**
+ * Recopie le {@link TraceContext} du {@code Context} Reactor dans le MDC, et l'en retire ensuite. Avec
+ * {@code spring.reactor.context-propagation=auto}, Reactor l'applique à chaque opérateur, quel que soit le thread.
+ * <p>
+ * Enregistré auprès de {@code ContextRegistry} par {@code META-INF/services}.
+ */
+public class TraceContextAccessor implements ThreadLocalAccessor<TraceContext> {
+
+    @Override
+    public Object key() {
+        return TraceContext.KEY;
+    }
+
+    @Override
+    public TraceContext getValue() {
+        String correlationId = MDC.get(TraceContext.CORRELATION_ID_MDC_KEY);
+        return correlationId != null ? new TraceContext(correlationId, MDC.get(TraceContext.SPAN_ID_MDC_KEY)) : null;
+    }
+
+    @Override
+    public void setValue(TraceContext value) {
+        MDC.put(TraceContext.CORRELATION_ID_MDC_KEY, value.correlationId());
+        MDC.put(TraceContext.SPAN_ID_MDC_KEY, value.spanId());
+    }
+
+    @Override
+    public void setValue() {
+        MDC.remove(TraceContext.CORRELATION_ID_MDC_KEY);
+        MDC.remove(TraceContext.SPAN_ID_MDC_KEY);
+    }
+}
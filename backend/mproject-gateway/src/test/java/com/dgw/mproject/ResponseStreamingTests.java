@@ -0,0 +1,192 @@
+package com.dgw.mproject;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The gateway proxies a stub project-service: large exports must go through chunk by chunk, text bodies above the
+ * threshold are compressed when the client accepts it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResponseStreamingTests {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int CSV_LINE_LENGTH = 64;
+    private static final long EXPORT_SIZE = 256L * 1024 * 1024;
+    private static final long HEAP_SAMPLE_INTERVAL = 32L * 1024 * 1024;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    private static final CountDownLatch firstChunkReceived = new CountDownLatch(1);
+    private static final AtomicBoolean sentBeforeFirstChunkReceived = new AtomicBoolean();
+    private static final HttpServer stub = startStub();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "project-service-stub");
+        registry.add("spring.cloud.gateway.routes[0].uri", () -> "http://localhost:" + stub.getAddress().getPort());
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/project-service/**");
+        registry.add("spring.cloud.gateway.routes[0].filters[0]", () -> "StripPrefix=1");
+        registry.add("logging.level.reactor.netty", () -> "INFO");
+        registry.add("logging.level.io.netty", () -> "INFO");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void shouldStreamLargeCsvExportWithBoundedHeap() {
+        // GIVEN
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = usedHeapAfterGc(memory);
+        AtomicLong received = new AtomicLong();
+        AtomicLong peak = new AtomicLong(baseline);
+
+        // WHEN
+        HttpClientResponse response = HttpClient.create()
+                .get()
+                .uri("http://localhost:" + port + "/project-service/api/projects/42/export")
+                .response((headers, body) -> body.doOnNext(buffer -> {
+                    firstChunkReceived.countDown();
+                    long before = received.get();
+                    long after = received.addAndGet(buffer.readableBytes());
+                    if (before / HEAP_SAMPLE_INTERVAL != after / HEAP_SAMPLE_INTERVAL) {
+                        peak.accumulateAndGet(usedHeapAfterGc(memory), Math::max);
+                    }
+                }).then(Mono.just(headers)))
+                .blockLast(Duration.ofMinutes(2));
+
+        // THEN
+        assertEquals(200, response.status().code());
+        assertEquals(EXPORT_SIZE, received.get());
+        assertTrue(sentBeforeFirstChunkReceived.get(), "the gateway waited for the whole export before answering");
+        assertTrue(peak.get() - baseline < MAX_HEAP_GROWTH,
+                "heap grew by " + (peak.get() - baseline) / (1024 * 1024) + " MB");
+    }
+
+    @Test
+    void shouldCompressJsonAboveThreshold() {
+        // WHEN
+        HttpClientResponse response = get("/project-service/api/projects/42/tasks", "gzip");
+
+        // THEN
+        assertEquals("gzip", response.responseHeaders().get("Content-Encoding"));
+    }
+
+    @Test
+    void shouldNotCompressSmallJson() {
+        // WHEN
+        HttpClientResponse response = get("/project-service/api/projects/42", "gzip");
+
+        // THEN
+        assertNull(response.responseHeaders().get("Content-Encoding"));
+    }
+
+    @Test
+    void shouldNotCompressWhenClientDoesNotAcceptIt() {
+        // WHEN
+        HttpClientResponse response = get("/project-service/api/projects/42/tasks", null);
+
+        // THEN
+        assertNull(response.responseHeaders().get("Content-Encoding"));
+    }
+
+    private HttpClientResponse get(String path, String acceptEncoding) {
+        return HttpClient.create()
+                .headers(headers -> {
+                    if (acceptEncoding != null) {
+                        headers.set("Accept-Encoding", acceptEncoding);
+                    }
+                })
+                .get()
+                .uri("http://localhost:" + port + path)
+                .response((response, body) -> body.then(Mono.just(response)))
+                .blockLast(Duration.ofSeconds(30));
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/projects/42/export", ResponseStreamingTests::export);
+            server.createContext("/api/projects/42/tasks", exchange -> json(exchange, 16 * 1024));
+            server.createContext("/api/projects/42", exchange -> json(exchange, 100));
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void export(HttpExchange exchange) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        Arrays.fill(chunk, (byte) 'x');
+        for (int i = CSV_LINE_LENGTH - 1; i < chunk.length; i += CSV_LINE_LENGTH) {
+            chunk[i] = '\n';
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/csv");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(chunk);
+            body.flush();
+            try {
+                sentBeforeFirstChunkReceived.set(firstChunkReceived.await(30, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for (long sent = CHUNK_SIZE; sent < EXPORT_SIZE; sent += CHUNK_SIZE) {
+                body.write(chunk);
+            }
+        }
+    }
+
+    private static void json(HttpExchange exchange, int size) throws IOException {
+        StringBuilder json = new StringBuilder("{\"name\":\"");
+        while (json.length() < size) {
+            json.append("task ");
+        }
+        byte[] body = json.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.dgw.mproject.conf;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProjectAffinityConfigTest {
+
+    private static final PathPattern PATH_PATTERN = PathPatternParser.defaultInstance.parse("/api/projects/{projectId}/**");
+    private static final Set<String> IGNORED_KEYS = Set.of("my-projects");
+
+    @Test
+    void shouldExtractProjectIdFromProjectPaths() {
+        assertEquals("42", projectId("/api/projects/42"));
+        assertEquals("42", projectId("/api/projects/42/export"));
+        assertEquals("42", projectId("/api/projects/42/tasks"));
+    }
+
+    @Test
+    void shouldIgnoreOtherPaths() {
+        assertNull(projectId("/api/projects"));
+        assertNull(projectId("/api/projects/my-projects"));
+        assertNull(projectId("/api/subscriptions"));
+    }
+
+    private static String projectId(String path) {
+        RequestData requestData = new RequestData(HttpMethod.GET, URI.create("http://localhost:8080" + path),
+                new HttpHeaders(), new LinkedMultiValueMap<>(), Map.of());
+        return ProjectAffinityConfig.projectId(new DefaultRequest<>(new RequestDataContext(requestData)), PATH_PATTERN, IGNORED_KEYS);
+    }
+}
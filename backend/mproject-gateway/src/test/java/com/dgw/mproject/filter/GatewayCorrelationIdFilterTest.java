@@ -0,0 +1,149 @@
+package com.dgw.mproject.filter;
+
+import com.dgw.mproject.tracing.TraceContext;
+import com.dgw.observability.ServerTiming;
+import com.dgw.observability.Span;
+import com.dgw.observability.SpanRecorder;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GatewayCorrelationIdFilterTest {
+
+    private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+    private static final int REQUESTS = 5_000;
+
+    private final List<Span> spans = new CopyOnWriteArrayList<>();
+    private final GatewayCorrelationIdFilter correlationIdFilter = new GatewayCorrelationIdFilter(spanRecorder(spans::add));
+    private final UpstreamTimingFilter upstreamTimingFilter = new UpstreamTimingFilter();
+
+    @Test
+    void shouldMergeServerTimingOfUpstreamService() {
+        // GIVEN
+        GatewayFilterChain upstream = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().add(ServerTiming.HEADER, "db;dur=12.0, app;dur=20.5");
+            return exchange.getResponse().setComplete();
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects/42"));
+
+        // WHEN
+        correlationIdFilter.filter(exchange, routed -> upstreamTimingFilter.filter(routed, upstream)).block();
+
+        // THEN
+        String serverTiming = exchange.getResponse().getHeaders().getFirst(ServerTiming.HEADER);
+        assertTrue(serverTiming.matches("db;dur=12\\.0, app;dur=20\\.5, upstream;dur=\\d+\\.\\d, gateway;dur=\\d+\\.\\d"),
+                serverTiming);
+    }
+
+    @Test
+    void shouldReportGatewayTimeOfResponseProducedByGateway() {
+        // GIVEN
+        GatewayFilterChain rateLimited = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            return exchange.getResponse().setComplete();
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects/42"));
+
+        // WHEN
+        correlationIdFilter.filter(exchange, rateLimited).block();
+
+        // THEN
+        String serverTiming = exchange.getResponse().getHeaders().getFirst(ServerTiming.HEADER);
+        assertTrue(serverTiming.matches("gateway;dur=\\d+\\.\\d"), serverTiming);
+    }
+
+    @Test
+    void shouldRecordRequestAndUpstreamSpans() {
+        // GIVEN
+        GatewayFilterChain upstream = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().setComplete();
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects/42")
+                .header(CORRELATION_ID_HEADER, "3f1c1b8e-7c1e-4d6e-9a53-1f0a3c9b2d11"));
+
+        // WHEN
+        correlationIdFilter.filter(exchange, routed -> upstreamTimingFilter.filter(routed, upstream)).block();
+
+        // THEN
+        assertEquals(2, spans.size());
+        Span request = spans.get(0);
+        Span upstreamCall = spans.get(1);
+        assertEquals("3f1c1b8e-7c1e-4d6e-9a53-1f0a3c9b2d11", request.traceId());
+        assertNull(request.parentId());
+        assertEquals("GET gateway", request.name());
+        assertEquals(Map.of("http.method", "GET", "http.path", "/api/projects/42", "http.status_code", "200"), request.tags());
+        assertEquals(request.traceId(), upstreamCall.traceId());
+        assertEquals(request.id(), upstreamCall.parentId());
+        assertTrue(upstreamCall.timestamp() >= request.timestamp());
+        assertTrue(upstreamCall.duration() <= request.duration());
+    }
+
+    /**
+     * Many requests interleaved on two "event loop" threads, each one hopping threads on its way upstream: the
+     * correlation id in the MDC is always the one of the request being processed, and nothing is left on the threads.
+     */
+    @Test
+    void shouldIsolateCorrelationIdOfConcurrentRequests() {
+        // GIVEN
+        Hooks.enableAutomaticContextPropagation();
+        Scheduler eventLoop = Schedulers.newParallel("event-loop", 2);
+        Map<String, String> loggedCorrelationIds = new ConcurrentHashMap<>();
+        GatewayFilterChain upstream = exchange -> Mono.delay(Duration.ofMillis(ThreadLocalRandom.current().nextInt(3)), eventLoop)
+                .doOnNext(tick -> loggedCorrelationIds.put(exchange.getRequest().getHeaders().getFirst(CORRELATION_ID_HEADER),
+                        String.valueOf(MDC.get(TraceContext.CORRELATION_ID_MDC_KEY))))
+                .then(exchange.getResponse().setComplete());
+
+        try {
+            // WHEN
+            Flux.range(0, REQUESTS)
+                    .flatMap(i -> correlationIdFilter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects")
+                            .header(CORRELATION_ID_HEADER, "request-" + i)), upstream).subscribeOn(eventLoop), 256)
+                    .blockLast(Duration.ofSeconds(30));
+
+            // THEN
+            assertEquals(REQUESTS, loggedCorrelationIds.size());
+            loggedCorrelationIds.forEach((correlationId, logged) -> assertEquals(correlationId, logged));
+            for (int i = 0; i < 4; i++) {
+                assertNull(Mono.fromCallable(() -> MDC.get(TraceContext.CORRELATION_ID_MDC_KEY))
+                        .subscribeOn(eventLoop)
+                        .block());
+            }
+        } finally {
+            eventLoop.dispose();
+            Hooks.disableAutomaticContextPropagation();
+        }
+    }
+
+    static GatewayCorrelationIdFilter newFilter() {
+        return new GatewayCorrelationIdFilter(spanRecorder(SpanRecorder.NOOP));
+    }
+
+    private static ObjectProvider<SpanRecorder> spanRecorder(SpanRecorder recorder) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("spanRecorder", recorder);
+        return beanFactory.getBeanProvider(SpanRecorder.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.dgw.mproject.filter;
+
+import com.dgw.jwt.GatewayIdentity;
+import com.dgw.jwt.JwtVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.context.WebSessionServerSecurityContextRepository;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtTokenFilter}, storing the security context in a {@code WebSession}
+ * (previous behaviour) versus keeping it in the Reactor context only. Run with the GC profiler to compare the
+ * allocations per request ({@code gc.alloc.rate.norm}): {@link #main} enables it. Run it from the IDE, or with
+ * {@code java -cp} on the test classpath of mproject-gateway.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenFilterBenchmark {
+
+    private static final WebFilterChain COMPLETE_RESPONSE = exchange -> exchange.getResponse().setComplete();
+
+    private String authorization;
+    private JwtTokenFilter sessionFilter;
+    private JwtTokenFilter statelessFilter;
+
+    @Setup
+    public void setUp() throws Exception {
+        authorization = JwtTokenFilter.BEARER_PREFIX
+                + JwtTokenFilterTest.sign("imad.test@gmail.com", Instant.now().plusSeconds(3600));
+        JwtVerifier jwtVerifier = new JwtVerifier(JwtTokenFilterTest.SECRET, 10_000);
+        GatewayIdentity gatewayIdentity = new GatewayIdentity(JwtTokenFilterTest.INTERNAL_SECRET, Duration.ofSeconds(30));
+        sessionFilter = new JwtTokenFilter(jwtVerifier, gatewayIdentity,
+                new WebSessionServerSecurityContextRepository());
+        statelessFilter = new JwtTokenFilter(jwtVerifier, gatewayIdentity,
+                NoOpServerSecurityContextRepository.getInstance());
+    }
+
+    @Benchmark
+    public Object webSession() {
+        return sessionFilter.filter(exchange(), COMPLETE_RESPONSE).block();
+    }
+
+    @Benchmark
+    public Object stateless() {
+        return statelessFilter.filter(exchange(), COMPLETE_RESPONSE).block();
+    }
+
+    private ServerWebExchange exchange() {
+        // A new in-memory session store per request: a shared one refuses new sessions past 10 000
+        return MockServerWebExchange.builder(MockServerHttpRequest.get("/api/projects")
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .sessionManager(new DefaultWebSessionManager())
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenFilterBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.dgw.mproject.filter;
+
+import com.dgw.jwt.GatewayIdentity;
+import com.dgw.jwt.JwtVerifier;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JwtTokenFilterTest {
+
+    static final String SECRET = "mAvsZD2KqE2Kv6VpF+VkN1P3PT+2uq5z0g2ZxF0StSc=";
+    static final String INTERNAL_SECRET = "test-gateway-internal-secret-0123456789";
+
+    private final GatewayIdentity gatewayIdentity = new GatewayIdentity(INTERNAL_SECRET, Duration.ofSeconds(30));
+    private final JwtTokenFilter jwtTokenFilter;
+
+    JwtTokenFilterTest() {
+        jwtTokenFilter = new JwtTokenFilter(new JwtVerifier(SECRET, 100), gatewayIdentity,
+                NoOpServerSecurityContextRepository.getInstance());
+    }
+
+    @Test
+    void shouldAuthenticateThroughReactorContextWithoutCreatingSession() throws Exception {
+        // GIVEN
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/projects")
+                .header(HttpHeaders.AUTHORIZATION, JwtTokenFilter.BEARER_PREFIX + sign("imad.test@gmail.com", Instant.now().plusSeconds(3600))));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        AtomicReference<String> authenticatedUser = new AtomicReference<>();
+
+        // WHEN
+        jwtTokenFilter.filter(exchange, filtered -> {
+            forwarded.set(filtered);
+            return ReactiveSecurityContextHolder.getContext()
+                    .map(SecurityContext::getAuthentication)
+                    .doOnNext(authentication -> authenticatedUser.set(authentication.getName()))
+                    .then(filtered.getResponse().setComplete());
+        }).block();
+
+        // THEN
+        assertEquals("imad.test@gmail.com", authenticatedUser.get());
+        assertFalse(exchange.getSession().block().isStarted());
+        String identity = forwarded.get().getRequest().getHeaders().getFirst(GatewayIdentity.HEADER);
+        assertEquals("imad.test@gmail.com", gatewayIdentity.verify(identity).orElseThrow());
+    }
+
+    @Test
+    void shouldStripIdentityHeaderSentByClient() {
+        // GIVEN
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/auth/login")
+                .header(GatewayIdentity.HEADER, gatewayIdentity.sign("someone.else@gmail.com")));
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+        // WHEN
+        jwtTokenFilter.filter(exchange, filtered -> {
+            forwarded.set(filtered);
+            return Mono.empty();
+        }).block();
+
+        // THEN
+        assertNull(forwarded.get().getRequest().getHeaders().getFirst(GatewayIdentity.HEADER));
+    }
+
+    static String sign(String subject, Instant expiration) throws Exception {
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256),
+                new JWTClaimsSet.Builder().subject(subject).expirationTime(Date.from(expiration)).build());
+        signedJWT.sign(new MACSigner(SECRET));
+        return signedJWT.serialize();
+    }
+}
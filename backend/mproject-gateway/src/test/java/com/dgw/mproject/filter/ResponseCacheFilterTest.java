@@ -0,0 +1,202 @@
+package com.dgw.mproject.filter;
+
+import com.dgw.mproject.conf.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheFilterTest {
+
+    private final ResponseCacheFilter responseCacheFilter = new ResponseCacheFilter(
+            new ResponseCacheProperties(true, Duration.ofMinutes(1), DataSize.ofMegabytes(1), DataSize.ofKilobytes(1),
+                    List.of("/api/projects/{projectId}")),
+            new SimpleMeterRegistry());
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private final GatewayFilterChain upstream = exchange -> {
+        int call = upstreamCalls.incrementAndGet();
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+    };
+
+    @Test
+    void shouldServeRepeatedGetFromCache() {
+        // WHEN
+        MockServerWebExchange first = get("/api/projects/42", "imad.test@gmail.com");
+        MockServerWebExchange second = get("/api/projects/42", "imad.test@gmail.com");
+
+        // THEN
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("{\"call\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void shouldKeepUsersSeparated() {
+        // WHEN
+        get("/api/projects/42", "imad.test@gmail.com");
+        MockServerWebExchange other = get("/api/projects/42", "someone.else@gmail.com");
+
+        // THEN
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("{\"call\":2}", other.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenEtagMatches() {
+        // GIVEN
+        String etag = get("/api/projects/42", "imad.test@gmail.com").getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+
+        // WHEN
+        MockServerWebExchange revalidation = exchange(MockServerHttpRequest.get("/api/projects/42").ifNoneMatch(etag), "imad.test@gmail.com");
+
+        // THEN
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenAWeakEtagOfTheListMatches() {
+        // GIVEN
+        String etag = get("/api/projects/42", "imad.test@gmail.com").getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+
+        // WHEN
+        MockServerWebExchange revalidation = exchange(MockServerHttpRequest.get("/api/projects/42")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"outdated\", W/" + etag), "imad.test@gmail.com");
+
+        // THEN
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldServeTheUserTheirOwnWriteWithoutWaitingForTheTtl() {
+        // GIVEN
+        get("/api/projects/42", "imad.test@gmail.com");
+        get("/api/projects/42", "someone.else@gmail.com");
+
+        // WHEN
+        exchange(MockServerHttpRequest.put("/api/projects/42/members"), "imad.test@gmail.com", write(HttpStatus.OK));
+        MockServerWebExchange reload = get("/api/projects/42", "imad.test@gmail.com");
+        MockServerWebExchange otherUser = get("/api/projects/42", "someone.else@gmail.com");
+
+        // THEN
+        assertEquals("{\"call\":3}", reload.getResponse().getBodyAsString().block());
+        assertEquals("HIT", otherUser.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldKeepTheCacheOfTheUserWhenTheirWriteFails() {
+        // GIVEN
+        get("/api/projects/42", "imad.test@gmail.com");
+
+        // WHEN
+        exchange(MockServerHttpRequest.put("/api/projects/42"), "imad.test@gmail.com", write(HttpStatus.CONFLICT));
+        MockServerWebExchange reload = get("/api/projects/42", "imad.test@gmail.com");
+
+        // THEN
+        assertEquals("HIT", reload.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldNotCachePathsOutsideWhitelist() {
+        // WHEN
+        get("/api/projects/42/export", "imad.test@gmail.com");
+        get("/api/projects/42/export", "imad.test@gmail.com");
+
+        // THEN
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldForwardChunkedBodyLargerThanMaxEntrySizeWithoutCachingIt() {
+        // GIVEN 8 chunks of 512 bytes, no Content-Length
+        GatewayFilterChain chunkedUpstream = exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Flux.range(0, 8)
+                    .map(chunk -> exchange.getResponse().bufferFactory().wrap(("" + chunk).repeat(512).getBytes(StandardCharsets.UTF_8))));
+        };
+
+        // WHEN
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/projects/42"), "imad.test@gmail.com", chunkedUpstream);
+        exchange(MockServerHttpRequest.get("/api/projects/42"), "imad.test@gmail.com", chunkedUpstream);
+
+        // THEN
+        String body = first.getResponse().getBodyAsString().block();
+        assertEquals(8 * 512, body.length());
+        assertTrue(body.startsWith("0".repeat(512) + "1".repeat(512)) && body.endsWith("7".repeat(512)));
+        assertNull(first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldNotCacheNoStoreOrPrivateResponses() {
+        // GIVEN
+        GatewayFilterChain privateUpstream = exchange -> {
+            exchange.getResponse().getHeaders().setCacheControl("private, max-age=60");
+            return upstream.filter(exchange);
+        };
+
+        // WHEN
+        exchange(MockServerHttpRequest.get("/api/projects/42"), "imad.test@gmail.com", privateUpstream);
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/projects/42"), "imad.test@gmail.com", privateUpstream);
+
+        // THEN
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("{\"call\":2}", second.getResponse().getBodyAsString().block());
+    }
+
+    private static GatewayFilterChain write(HttpStatus status) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            return exchange.getResponse().setComplete();
+        };
+    }
+
+    private MockServerWebExchange get(String path, String user) {
+        return exchange(MockServerHttpRequest.get(path).header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE), user);
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String user) {
+        return exchange(request, user, upstream);
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String user, GatewayFilterChain chain) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        var authentication = new UsernamePasswordAuthenticationToken(user, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        responseCacheFilter.filter(exchange, chain)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                .block();
+        return exchange;
+    }
+}
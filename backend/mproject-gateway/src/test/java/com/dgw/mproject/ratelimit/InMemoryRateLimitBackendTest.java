@@ -0,0 +1,70 @@
+package com.dgw.mproject.ratelimit;
+
+import com.dgw.mproject.conf.RateLimitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryRateLimitBackendTest {
+
+    private static final RateLimitProperties.Limit LIMIT = new RateLimitProperties.Limit(3, 1);
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend(Duration.ofMinutes(10), now::get);
+
+    @AfterEach
+    void tearDown() {
+        backend.close();
+    }
+
+    @Test
+    void shouldAllowBurstUpToCapacityThenReject() {
+        // WHEN / THEN
+        assertEquals(2, backend.acquire("projects|user:imad", LIMIT).remaining());
+        assertEquals(1, backend.acquire("projects|user:imad", LIMIT).remaining());
+        assertEquals(0, backend.acquire("projects|user:imad", LIMIT).remaining());
+
+        RateLimitDecision rejected = backend.acquire("projects|user:imad", LIMIT);
+        assertFalse(rejected.allowed());
+        assertEquals(Duration.ofSeconds(1), rejected.retryAfter());
+
+        // Other users have their own bucket
+        assertTrue(backend.acquire("projects|user:other", LIMIT).allowed());
+    }
+
+    @Test
+    void shouldRefillOverTime() {
+        // GIVEN
+        for (int i = 0; i < 3; i++) {
+            backend.acquire("projects|user:imad", LIMIT);
+        }
+
+        // WHEN
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // THEN
+        assertTrue(backend.acquire("projects|user:imad", LIMIT).allowed());
+        assertFalse(backend.acquire("projects|user:imad", LIMIT).allowed());
+    }
+
+    @Test
+    void shouldEvictOnlyIdleBuckets() {
+        // GIVEN
+        backend.acquire("projects|user:idle", LIMIT);
+        now.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        backend.acquire("projects|user:active", LIMIT);
+
+        // WHEN
+        backend.evictIdleBuckets();
+
+        // THEN
+        assertEquals(1, backend.size());
+    }
+}
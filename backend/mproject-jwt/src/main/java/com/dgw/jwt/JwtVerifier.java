@@ -0,0 +1,122 @@
+package com.dgw.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Verifies HMAC signed JWTs issued by the user-account service.
+ * <p>
+ * The {@link MACVerifier} is built once and shared (it is thread-safe). Tokens already verified are kept in a
+ * bounded cache keyed by the SHA-256 digest of the token, until their expiration time: a cache hit costs one
+ * hash instead of parsing the token and recomputing its HMAC. Tokens without a future expiration time are
+ * never cached.
+ */
+public class JwtVerifier {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final JWSVerifier verifier;
+    private final Cache<ByteBuffer, JWTClaimsSet> verifiedTokens;
+    private final Clock clock;
+
+    public JwtVerifier(String secret, long maxCachedTokens) {
+        this(secret, maxCachedTokens, Clock.systemUTC());
+    }
+
+    JwtVerifier(String secret, long maxCachedTokens, Clock clock) {
+        try {
+            this.verifier = new MACVerifier(secret);
+        } catch (JOSEException e) {
+            throw new IllegalArgumentException("Invalid JWT secret", e);
+        }
+        this.clock = clock;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * @return the claims of the token
+     * @throws InvalidTokenException when the token cannot be parsed or its signature is invalid
+     */
+    public JWTClaimsSet verify(String token) {
+        ByteBuffer digest = digest(token);
+        JWTClaimsSet claims = verifiedTokens.getIfPresent(digest);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = parseAndVerify(token);
+        if (timeToExpiration(claims).compareTo(Duration.ZERO) > 0) {
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+
+    private JWTClaimsSet parseAndVerify(String token) {
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+            // Verify the signature
+            if (!signedJWT.verify(verifier)) {
+                throw new InvalidTokenException("Invalid JWT signature");
+            }
+            // Retrieve JWT claims
+            return signedJWT.getJWTClaimsSet();
+
+        } catch (JOSEException | ParseException e) {
+            throw new InvalidTokenException("Error while parsing JWT token", e);
+        }
+    }
+
+    private Duration timeToExpiration(JWTClaimsSet claims) {
+        Date expirationTime = claims.getExpirationTime();
+        if (expirationTime == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(clock.instant(), expirationTime.toInstant());
+    }
+
+    private class TokenExpiry implements Expiry<ByteBuffer, JWTClaimsSet> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer digest, JWTClaimsSet claims, long currentTime) {
+            return Math.max(0, timeToExpiration(claims).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer digest, JWTClaimsSet claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer digest, JWTClaimsSet claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.dgw.jwt;
+
+/**
+ * Resolves the user of a request reaching a downstream service: from the {@link GatewayIdentity} header when the
+ * request was routed by the gateway, otherwise by verifying the JWT of its {@code Authorization} header.
+ */
+public class UserIdentityVerifier {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+    private final GatewayIdentity gatewayIdentity;
+
+    public UserIdentityVerifier(JwtVerifier jwtVerifier, GatewayIdentity gatewayIdentity) {
+        this.jwtVerifier = jwtVerifier;
+        this.gatewayIdentity = gatewayIdentity;
+    }
+
+    /**
+     * @param gatewayIdentityHeader the value of the {@link GatewayIdentity#HEADER} header, {@code null} when missing
+     * @param authorizationHeader   the value of the {@code Authorization} header
+     * @return the email of the user
+     * @throws InvalidTokenException when the identity header is not valid and the JWT is missing or invalid
+     */
+    public String verify(String gatewayIdentityHeader, String authorizationHeader) {
+        // Requests routed by the gateway carry the identity it already verified
+        return gatewayIdentity.verify(gatewayIdentityHeader)
+                .orElseGet(() -> verifyJwt(authorizationHeader));
+    }
+
+    private String verifyJwt(String authorizationHeader) {
+        if (authorizationHeader == null) {
+            throw new InvalidTokenException("Missing bearer token");
+        }
+        String token = authorizationHeader.startsWith(BEARER_PREFIX)
+                ? authorizationHeader.substring(BEARER_PREFIX.length())
+                : authorizationHeader;
+        return jwtVerifier.verify(token).getSubject();
+    }
+}
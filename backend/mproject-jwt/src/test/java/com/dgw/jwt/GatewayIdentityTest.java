@@ -0,0 +1,73 @@
+package com.dgw.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GatewayIdentityTest {
+
+    private static final String INTERNAL_SECRET = "gateway-internal-secret-gateway-internal-secret";
+    private static final Instant NOW = Instant.parse("2024-06-01T10:00:00Z");
+
+    private final GatewayIdentity gatewayIdentity =
+            new GatewayIdentity(INTERNAL_SECRET, Duration.ofSeconds(30), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void shouldVerifyIdentitySignedByGateway() {
+        // GIVEN
+        String headerValue = gatewayIdentity.sign("imad.test@gmail.com");
+
+        // WHEN
+        Optional<String> subject = gatewayIdentity.verify(headerValue);
+
+        // THEN
+        assertEquals(Optional.of("imad.test@gmail.com"), subject);
+    }
+
+    @Test
+    void shouldRejectIdentitySignedWithAnotherSecret() {
+        // GIVEN
+        String headerValue = new GatewayIdentity("another-secret-another-secret-another-secret", Duration.ofSeconds(30),
+                Clock.fixed(NOW, ZoneOffset.UTC)).sign("imad.test@gmail.com");
+
+        // WHEN / THEN
+        assertTrue(gatewayIdentity.verify(headerValue).isEmpty());
+    }
+
+    @Test
+    void shouldRejectTamperedSubject() {
+        // GIVEN
+        String headerValue = gatewayIdentity.sign("imad.test@gmail.com");
+        String[] parts = headerValue.split("\\.");
+        String forged = gatewayIdentity.sign("someone.else@gmail.com").split("\\.")[1];
+
+        // WHEN / THEN
+        assertTrue(gatewayIdentity.verify(parts[0] + "." + forged + "." + parts[2]).isEmpty());
+    }
+
+    @Test
+    void shouldRejectExpiredIdentity() {
+        // GIVEN
+        String headerValue = gatewayIdentity.sign("imad.test@gmail.com");
+        GatewayIdentity later = new GatewayIdentity(INTERNAL_SECRET, Duration.ofSeconds(30),
+                Clock.fixed(NOW.plusSeconds(31), ZoneOffset.UTC));
+
+        // WHEN / THEN
+        assertTrue(later.verify(headerValue).isEmpty());
+    }
+
+    @Test
+    void shouldRejectMissingOrMalformedIdentity() {
+        assertTrue(gatewayIdentity.verify(null).isEmpty());
+        assertTrue(gatewayIdentity.verify("").isEmpty());
+        assertTrue(gatewayIdentity.verify("not-an-identity").isEmpty());
+        assertTrue(gatewayIdentity.verify("abc.def.***").isEmpty());
+    }
+}
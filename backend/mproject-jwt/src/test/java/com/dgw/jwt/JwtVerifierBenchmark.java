@@ -0,0 +1,70 @@
+package com.dgw.jwt;
+
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold (parse + HMAC with the shared verifier) versus cached verification.
+ * Run from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.dgw.jwt.JwtVerifierBenchmark} in mproject-jwt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifierBenchmark {
+
+    private String token;
+    private JwtVerifier cachingVerifier;
+    private JwtVerifier nonCachingVerifier;
+
+    @Setup
+    public void setUp() throws Exception {
+        token = JwtVerifierTest.sign(JwtVerifierTest.SECRET, "imad.test@gmail.com", Instant.now().plusSeconds(3600));
+        cachingVerifier = new JwtVerifier(JwtVerifierTest.SECRET, 10_000);
+        nonCachingVerifier = new JwtVerifier(JwtVerifierTest.SECRET, 0);
+        cachingVerifier.verify(token);
+    }
+
+    /**
+     * What each service did before: a new verifier, parsing and HMAC on every call.
+     */
+    @Benchmark
+    public Object perCallVerifier() throws Exception {
+        SignedJWT signedJWT = SignedJWT.parse(token);
+        signedJWT.verify(new MACVerifier(JwtVerifierTest.SECRET));
+        return signedJWT.getJWTClaimsSet();
+    }
+
+    @Benchmark
+    public Object cold() {
+        return nonCachingVerifier.verify(token);
+    }
+
+    @Benchmark
+    public Object cached() {
+        return cachingVerifier.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtVerifierBenchmark.class.getSimpleName()).build()).run();
+    }
+}
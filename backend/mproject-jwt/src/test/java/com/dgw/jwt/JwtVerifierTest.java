@@ -0,0 +1,74 @@
+package com.dgw.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtVerifierTest {
+
+    static final String SECRET = "mAvsZD2KqE2Kv6VpF+VkN1P3PT+2uq5z0g2ZxF0StSc=";
+
+    private final JwtVerifier jwtVerifier = new JwtVerifier(SECRET, 100);
+
+    @Test
+    void shouldVerifyTokenOnceAndServeItFromCacheUntilExpiration() throws Exception {
+        // GIVEN
+        String token = sign(SECRET, "imad.test@gmail.com", Instant.now().plusSeconds(3600));
+
+        // WHEN
+        JWTClaimsSet first = jwtVerifier.verify(token);
+        JWTClaimsSet second = jwtVerifier.verify(token);
+
+        // THEN
+        assertEquals("imad.test@gmail.com", first.getSubject());
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldNotCacheExpiredToken() throws Exception {
+        // GIVEN
+        String token = sign(SECRET, "imad.test@gmail.com", Instant.now().minusSeconds(60));
+
+        // WHEN
+        JWTClaimsSet first = jwtVerifier.verify(token);
+        JWTClaimsSet second = jwtVerifier.verify(token);
+
+        // THEN
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherSecret() throws Exception {
+        // GIVEN
+        String token = sign("another-secret-another-secret-another-secret", "imad.test@gmail.com", Instant.now().plusSeconds(3600));
+
+        // WHEN / THEN
+        assertThrows(InvalidTokenException.class, () -> jwtVerifier.verify(token));
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertThrows(InvalidTokenException.class, () -> jwtVerifier.verify("not-a-jwt"));
+    }
+
+    static String sign(String secret, String subject, Instant expiration) throws Exception {
+        JWTClaimsSet claimsSet = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .expirationTime(Date.from(expiration))
+                .build();
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claimsSet);
+        signedJWT.sign(new MACSigner(secret));
+        return signedJWT.serialize();
+    }
+}
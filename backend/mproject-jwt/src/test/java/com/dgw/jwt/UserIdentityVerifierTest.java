@@ -0,0 +1,64 @@
+package com.dgw.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserIdentityVerifierTest {
+
+    private static final String INTERNAL_SECRET = "gateway-internal-secret-gateway-internal-secret";
+
+    private final GatewayIdentity gatewayIdentity = new GatewayIdentity(INTERNAL_SECRET, Duration.ofSeconds(30));
+
+    private final UserIdentityVerifier userIdentityVerifier =
+            new UserIdentityVerifier(new JwtVerifier(JwtVerifierTest.SECRET, 100), gatewayIdentity);
+
+    @Test
+    void shouldTrustTheIdentityAssertedByTheGateway() {
+        // GIVEN
+        String identityHeader = gatewayIdentity.sign("imad.test@gmail.com");
+
+        // WHEN
+        String email = userIdentityVerifier.verify(identityHeader, "Bearer not-even-a-jwt");
+
+        // THEN
+        assertEquals("imad.test@gmail.com", email);
+    }
+
+    @Test
+    void shouldVerifyTheJwtWithoutGatewayIdentity() throws Exception {
+        // GIVEN
+        String token = JwtVerifierTest.sign(JwtVerifierTest.SECRET, "imad.test@gmail.com", Instant.now().plusSeconds(3600));
+
+        // WHEN
+        String email = userIdentityVerifier.verify(null, "Bearer " + token);
+
+        // THEN
+        assertEquals("imad.test@gmail.com", email);
+    }
+
+    @Test
+    void shouldVerifyTheJwtWhenTheGatewayIdentityIsForged() throws Exception {
+        // GIVEN
+        String forged = new GatewayIdentity("another-internal-secret-another-internal-secret", Duration.ofSeconds(30))
+                .sign("someone.else@gmail.com");
+        String token = JwtVerifierTest.sign(JwtVerifierTest.SECRET, "imad.test@gmail.com", Instant.now().plusSeconds(3600));
+
+        // WHEN
+        String email = userIdentityVerifier.verify(forged, "Bearer " + token);
+
+        // THEN
+        assertEquals("imad.test@gmail.com", email);
+    }
+
+    @Test
+    void shouldRejectARequestWithoutBearerToken() {
+        // WHEN / THEN
+        assertThrows(InvalidTokenException.class, () -> userIdentityVerifier.verify(null, null));
+        assertThrows(InvalidTokenException.class, () -> userIdentityVerifier.verify(null, "Basic dXNlcjpwYXNz"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.dgw.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sends every request carrying the same affinity key (a project id for instance) to the same instance, so that
+ * per-instance caches get a good hit ratio. The key is mapped to an instance on a {@link ConsistentHashRing}, rebuilt
+ * whenever the list of instances (from Eureka) changes. Requests without a key are balanced by {@code fallback}.
+ * <p>
+ * The lifecycle callbacks are forwarded to {@code fallback}, so that it keeps measuring every instance.
+ */
+public class ConsistentHashLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final int virtualNodes;
+    private final Function<Request<?>, String> affinityKey;
+    private final LatencyAwareLoadBalancer fallback;
+    private volatile ConsistentHashRing ring;
+
+    public ConsistentHashLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                      String serviceId, int virtualNodes, Function<Request<?>, String> affinityKey,
+                                      LatencyAwareLoadBalancer fallback) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.virtualNodes = virtualNodes;
+        this.affinityKey = affinityKey;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        String key = affinityKey.apply(request);
+        if (key == null) {
+            return fallback.choose(request);
+        }
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> choose(instances, key));
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances, String key) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        ConsistentHashRing current = ring;
+        if (current == null || !current.hasMembers(instances)) {
+            current = ConsistentHashRing.of(instances, virtualNodes);
+            ring = current;
+        }
+        return new DefaultResponse(current.get(key));
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return fallback.supports(requestContextClass, responseClass, serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+        fallback.onStart(request);
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        fallback.onStartRequest(request, lbResponse);
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        fallback.onComplete(completionContext);
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+}
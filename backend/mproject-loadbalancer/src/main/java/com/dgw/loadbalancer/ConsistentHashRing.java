@@ -0,0 +1,95 @@
+package com.dgw.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable consistent-hash ring of service instances. Each instance is placed {@code virtualNodes} times on the
+ * ring, which evens out the share of keys per instance; when an instance joins or leaves, only the keys of the
+ * ring segments it gains or loses move.
+ */
+final class ConsistentHashRing {
+
+    private final long[] positions;
+    private final ServiceInstance[] owners;
+    private final Set<String> members;
+
+    private ConsistentHashRing(long[] positions, ServiceInstance[] owners, Set<String> members) {
+        this.positions = positions;
+        this.owners = owners;
+        this.members = members;
+    }
+
+    static ConsistentHashRing of(List<ServiceInstance> instances, int virtualNodes) {
+        record Node(long position, ServiceInstance owner) {
+        }
+        Node[] nodes = new Node[instances.size() * virtualNodes];
+        int index = 0;
+        for (ServiceInstance instance : instances) {
+            String member = member(instance);
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                nodes[index++] = new Node(hash(member + '#' + replica), instance);
+            }
+        }
+        Arrays.sort(nodes, Comparator.comparingLong(Node::position));
+
+        long[] positions = new long[nodes.length];
+        ServiceInstance[] owners = new ServiceInstance[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            positions[i] = nodes[i].position();
+            owners[i] = nodes[i].owner();
+        }
+        return new ConsistentHashRing(positions, owners,
+                instances.stream().map(ConsistentHashRing::member).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    /**
+     * @return the instance owning {@code key}: the first virtual node clockwise from its hash
+     */
+    ServiceInstance get(String key) {
+        int index = Arrays.binarySearch(positions, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == positions.length ? 0 : index];
+    }
+
+    boolean hasMembers(List<ServiceInstance> instances) {
+        if (instances.size() != members.size()) {
+            return false;
+        }
+        for (ServiceInstance instance : instances) {
+            if (!members.contains(member(instance))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String member(ServiceInstance instance) {
+        return instance.getHost() + ':' + instance.getPort();
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer, which spreads close keys over the whole ring.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,226 @@
+package com.dgw.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Picks the cheaper of two random instances ("power of two choices"). The cost of an instance is its peak EWMA
+ * latency multiplied by its number of in-flight requests plus one: an instance stuck in a GC pause or on a slow disk
+ * quickly stops receiving traffic, while comparing only two instances avoids sending every request to the single
+ * fastest one.
+ * <p>
+ * Latencies and in-flight requests are observed through the {@link LoadBalancerLifecycle} callbacks, invoked by the
+ * gateway's {@code ReactiveLoadBalancerClientFilter} and by {@code FeignBlockingLoadBalancerClient}. Failed calls
+ * count as at least {@code failurePenalty}. Without new samples the cost of an idle instance decays with the time
+ * constant {@code decay}, so that a slow instance is probed again later, whereas an instance with requests pending
+ * costs at least the time elapsed since its last response.
+ * <p>
+ * A request carrying the {@link #EXCLUDED_INSTANCE_HEADER} header ({@code host:port}) is not sent to that instance
+ * unless it is the only one, so that a hedged request does not go to the replica that is already slow to answer. The
+ * client removes the header once the instance is chosen.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    public static final String EXCLUDED_INSTANCE_HEADER = "X-LB-Excluded-Instance";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                    String serviceId, Duration decay, Duration failurePenalty) {
+        this(serviceInstanceListSupplierProvider, serviceId, decay, failurePenalty, System::nanoTime);
+    }
+
+    LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                             String serviceId, Duration decay, Duration failurePenalty, LongSupplier nanoClock) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.decayNanos = decay.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        String excludedInstance = excludedInstance(request);
+        return supplier.get(request).next().map(instances -> choose(instances, excludedInstance));
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        return choose(instances, null);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances, String excludedInstance) {
+        if (excludedInstance != null && instances.size() > 1) {
+            List<ServiceInstance> others = instances.stream()
+                    .filter(instance -> !key(instance).equals(excludedInstance))
+                    .toList();
+            if (!others.isEmpty()) {
+                return chooseAmong(instances, others);
+            }
+        }
+        return chooseAmong(instances, instances);
+    }
+
+    private Response<ServiceInstance> chooseAmong(List<ServiceInstance> allInstances, List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (stats.size() > allInstances.size()) {
+            forgetRemovedInstances(allInstances);
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        long now = nanoClock.getAsLong();
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(cost(a, now) <= cost(b, now) ? a : b);
+    }
+
+    private static String excludedInstance(Request<?> request) {
+        if (request != null && request.getContext() instanceof RequestDataContext context
+                && context.getClientRequest() != null && context.getClientRequest().getHeaders() != null) {
+            return context.getClientRequest().getHeaders().getFirst(EXCLUDED_INSTANCE_HEADER);
+        }
+        return null;
+    }
+
+    private double cost(ServiceInstance instance, long now) {
+        InstanceStats instanceStats = stats.get(key(instance));
+        return instanceStats != null ? instanceStats.cost(now) : 0;
+    }
+
+    private void forgetRemovedInstances(List<ServiceInstance> instances) {
+        Set<String> keys = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            keys.add(key(instance));
+        }
+        stats.keySet().retainAll(keys);
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timedContext) {
+            timedContext.setRequestStartTime(nanoClock.getAsLong());
+        }
+        stats.computeIfAbsent(key(lbResponse.getServer()), key -> new InstanceStats()).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats instanceStats = stats.get(key(lbResponse.getServer()));
+        if (instanceStats == null) {
+            return;
+        }
+        instanceStats.inFlight.decrementAndGet();
+
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+                || !(completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timedContext)
+                || timedContext.getRequestStartTime() == 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long latency = now - timedContext.getRequestStartTime();
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            latency = Math.max(latency, failurePenaltyNanos);
+        }
+        instanceStats.observe(latency, now);
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ':' + instance.getPort();
+    }
+
+    private final class InstanceStats {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double ewma;
+        private long lastUpdate;
+        private boolean measured;
+
+        private synchronized void observe(long latency, long now) {
+            double weight = weight(now);
+            // Peak EWMA: a latency spike is taken into account at once, an improvement progressively
+            ewma = latency > ewma ? latency : ewma * weight + latency * (1 - weight);
+            lastUpdate = now;
+            measured = true;
+        }
+
+        private synchronized double cost(long now) {
+            int pending = Math.max(0, inFlight.get());
+            if (pending == 0) {
+                return ewma * weight(now);
+            }
+            if (!measured) {
+                // Requests pending on an instance never measured yet
+                return failurePenaltyNanos + pending;
+            }
+            // An instance that stopped answering (GC pause) is at least as slow as the time since its last response
+            return Math.max(ewma * weight(now), now - lastUpdate) * (pending + 1);
+        }
+
+        private double weight(long now) {
+            if (!measured) {
+                return 0;
+            }
+            return Math.exp(-Math.max(0, now - lastUpdate) / decayNanos);
+        }
+    }
+}
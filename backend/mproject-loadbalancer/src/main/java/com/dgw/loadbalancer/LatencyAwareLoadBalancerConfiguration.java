@@ -0,0 +1,48 @@
+package com.dgw.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Load balancer client configuration replacing round robin by {@link LatencyAwareLoadBalancer}, to declare with
+ * {@code @LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)}. Not a
+ * {@code @Configuration}: it is instantiated in the child context of each load-balanced service.
+ * <p>
+ * Set {@code loadbalancer.latency-aware.enabled=false} to go back to round robin. A load balancer declared in the
+ * specific configuration of a client takes precedence.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(ReactorServiceInstanceLoadBalancer.class)
+    @ConditionalOnProperty(prefix = "loadbalancer.latency-aware", name = "enabled", matchIfMissing = true)
+    public LatencyAwareLoadBalancer latencyAwareLoadBalancer(Environment environment,
+                                                             LoadBalancerClientFactory loadBalancerClientFactory) {
+        return create(environment, loadBalancerClientFactory);
+    }
+
+    /**
+     * Also used by the load balancers delegating to a {@link LatencyAwareLoadBalancer}, such as
+     * {@link ConsistentHashLoadBalancer}.
+     */
+    public static LatencyAwareLoadBalancer create(Environment environment, LoadBalancerClientFactory loadBalancerClientFactory) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                duration(environment, "loadbalancer.latency-aware.decay", "10s"),
+                duration(environment, "loadbalancer.latency-aware.failure-penalty", "1s"));
+    }
+
+    private static Duration duration(Environment environment, String property, String defaultValue) {
+        return DurationStyle.detectAndParse(environment.getProperty(property, defaultValue));
+    }
+}
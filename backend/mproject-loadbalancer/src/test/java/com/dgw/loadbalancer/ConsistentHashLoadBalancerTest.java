@@ -0,0 +1,124 @@
+package com.dgw.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultRequestContext;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashLoadBalancerTest {
+
+    private static final String SERVICE_ID = "mproject-project-service";
+    private static final List<ServiceInstance> INSTANCES = IntStream.rangeClosed(1, 4)
+            .mapToObj(i -> (ServiceInstance) new DefaultServiceInstance("project-" + i, SERVICE_ID, "10.0.0." + i, 8080, false))
+            .toList();
+    private static final List<String> PROJECT_IDS = IntStream.range(0, 10_000)
+            .mapToObj(i -> UUID.nameUUIDFromBytes(("project-" + i).getBytes()).toString())
+            .toList();
+
+    private final ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer(instances(), SERVICE_ID, 160,
+            request -> request.getContext() instanceof DefaultRequestContext context ? (String) context.getClientRequest() : null,
+            new LatencyAwareLoadBalancer(instances(), SERVICE_ID, Duration.ofSeconds(10), Duration.ofSeconds(1)));
+
+    @Test
+    void shouldAlwaysSendSameProjectToSameInstance() {
+        // WHEN
+        ServiceInstance first = loadBalancer.choose(new DefaultRequest<>(new DefaultRequestContext("42"))).block().getServer();
+
+        // THEN
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first, loadBalancer.choose(new DefaultRequest<>(new DefaultRequestContext("42"))).block().getServer());
+        }
+    }
+
+    @Test
+    void shouldSpreadProjectsEvenly() {
+        // WHEN
+        Map<ServiceInstance, Integer> owners = assign(INSTANCES);
+
+        // THEN
+        int fairShare = PROJECT_IDS.size() / INSTANCES.size();
+        owners.values().forEach(count -> assertTrue(Math.abs(count - fairShare) < fairShare * 0.2, "share: " + count));
+    }
+
+    @Test
+    void shouldOnlyMoveProjectsOfRemovedInstance() {
+        // GIVEN
+        Map<String, ServiceInstance> before = owners(INSTANCES);
+        ServiceInstance removed = INSTANCES.get(2);
+
+        // WHEN
+        Map<String, ServiceInstance> after = owners(INSTANCES.stream().filter(instance -> instance != removed).toList());
+
+        // THEN
+        PROJECT_IDS.forEach(projectId -> {
+            if (before.get(projectId) != removed) {
+                assertEquals(before.get(projectId), after.get(projectId));
+            }
+        });
+    }
+
+    @Test
+    void shouldMoveAboutOneFifthOfProjectsWhenInstanceJoins() {
+        // GIVEN
+        Map<String, ServiceInstance> before = owners(INSTANCES);
+        ServiceInstance joined = new DefaultServiceInstance("project-5", SERVICE_ID, "10.0.0.5", 8080, false);
+
+        // WHEN
+        Map<String, ServiceInstance> after = owners(concat(INSTANCES, joined));
+
+        // THEN
+        long moved = PROJECT_IDS.stream().filter(projectId -> before.get(projectId) != after.get(projectId)).count();
+        PROJECT_IDS.stream()
+                .filter(projectId -> before.get(projectId) != after.get(projectId))
+                .forEach(projectId -> assertEquals(joined, after.get(projectId)));
+        assertTrue(moved > PROJECT_IDS.size() * 0.15 && moved < PROJECT_IDS.size() * 0.25, "moved: " + moved);
+    }
+
+    @Test
+    void shouldFallBackWhenRequestHasNoProject() {
+        // WHEN / THEN
+        assertNotNull(loadBalancer.choose(new DefaultRequest<>(new DefaultRequestContext())).block().getServer());
+    }
+
+    private Map<ServiceInstance, Integer> assign(List<ServiceInstance> instances) {
+        Map<ServiceInstance, Integer> counts = new HashMap<>();
+        owners(instances).values().forEach(owner -> counts.merge(owner, 1, Integer::sum));
+        return counts;
+    }
+
+    private Map<String, ServiceInstance> owners(List<ServiceInstance> instances) {
+        Map<String, ServiceInstance> owners = new HashMap<>();
+        PROJECT_IDS.forEach(projectId -> owners.put(projectId, loadBalancer.choose(instances, projectId).getServer()));
+        return owners;
+    }
+
+    private static List<ServiceInstance> concat(List<ServiceInstance> instances, ServiceInstance instance) {
+        List<ServiceInstance> all = new ArrayList<>(instances);
+        all.add(instance);
+        return all;
+    }
+
+    private static ObjectProvider<ServiceInstanceListSupplier> instances() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("serviceInstanceListSupplier",
+                ServiceInstanceListSuppliers.from(SERVICE_ID, INSTANCES.toArray(ServiceInstance[]::new)));
+        return beanFactory.getBeanProvider(ServiceInstanceListSupplier.class);
+    }
+}
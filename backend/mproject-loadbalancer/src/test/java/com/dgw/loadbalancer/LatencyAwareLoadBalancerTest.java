@@ -0,0 +1,167 @@
+package com.dgw.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Three stub replicas of project-service, one of them stuck at 200 ms (GC pause, slow disk) while the others answer
+ * in 10 ms. Requests arrive every 4 ms and overlap; the simulation runs on a virtual clock.
+ */
+class LatencyAwareLoadBalancerTest {
+
+    private static final String SERVICE_ID = "mproject-project-service";
+    private static final ServiceInstance FAST_1 = new DefaultServiceInstance("fast-1", SERVICE_ID, "10.0.0.1", 8080, false);
+    private static final ServiceInstance FAST_2 = new DefaultServiceInstance("fast-2", SERVICE_ID, "10.0.0.2", 8080, false);
+    private static final ServiceInstance SLOW = new DefaultServiceInstance("slow", SERVICE_ID, "10.0.0.3", 8080, false);
+
+    private static final long FAST_LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_LATENCY = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long ARRIVAL_INTERVAL = TimeUnit.MILLISECONDS.toNanos(4);
+    private static final int REQUESTS = 5_000;
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void shouldCutTailLatencyComparedToRoundRobin() {
+        // GIVEN
+        LatencyAwareLoadBalancer latencyAware = new LatencyAwareLoadBalancer(instances(), SERVICE_ID,
+                Duration.ofSeconds(10), Duration.ofSeconds(1), now::get);
+        RoundRobinLoadBalancer roundRobin = new RoundRobinLoadBalancer(instances(), SERVICE_ID);
+
+        // WHEN
+        List<Long> latencyAwareLatencies = simulate(latencyAware, latencyAware);
+        List<Long> roundRobinLatencies = simulate(roundRobin, null);
+
+        // THEN
+        long latencyAwareP99 = percentile(latencyAwareLatencies, 0.99);
+        long roundRobinP99 = percentile(roundRobinLatencies, 0.99);
+        assertEquals(SLOW_LATENCY, roundRobinP99);
+        assertEquals(FAST_LATENCY, latencyAwareP99);
+        long sentToSlow = latencyAwareLatencies.stream().filter(latency -> latency == SLOW_LATENCY).count();
+        assertTrue(sentToSlow < REQUESTS / 100, "requests sent to the slow instance: " + sentToSlow);
+    }
+
+    @Test
+    void shouldAvoidInstanceWithManyPendingRequests() {
+        // GIVEN
+        LatencyAwareLoadBalancer latencyAware = new LatencyAwareLoadBalancer(instances(), SERVICE_ID,
+                Duration.ofSeconds(10), Duration.ofSeconds(1), now::get);
+        List<ServiceInstance> pair = List.of(FAST_1, FAST_2);
+        complete(latencyAware, FAST_1, FAST_LATENCY);
+        complete(latencyAware, FAST_2, FAST_LATENCY);
+        for (int i = 0; i < 5; i++) {
+            latencyAware.onStartRequest(request(), new DefaultResponse(FAST_1));
+        }
+
+        // WHEN / THEN
+        for (int i = 0; i < 20; i++) {
+            assertEquals(FAST_2, latencyAware.choose(pair).getServer());
+        }
+    }
+
+    @Test
+    void shouldNotSendHedgeToExcludedInstance() {
+        // GIVEN
+        LatencyAwareLoadBalancer latencyAware = new LatencyAwareLoadBalancer(instances(), SERVICE_ID,
+                Duration.ofSeconds(10), Duration.ofSeconds(1), now::get);
+        complete(latencyAware, FAST_1, FAST_LATENCY);
+        complete(latencyAware, FAST_2, SLOW_LATENCY);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(LatencyAwareLoadBalancer.EXCLUDED_INSTANCE_HEADER, "10.0.0.1:8080");
+        Request<Object> hedge = new DefaultRequest<>(new RequestDataContext(
+                new RequestData(HttpMethod.POST, URI.create("http://" + SERVICE_ID + "/api/user-profiles/find"),
+                        headers, new LinkedMultiValueMap<>(), Map.of())));
+
+        // WHEN / THEN
+        for (int i = 0; i < 20; i++) {
+            ServiceInstance chosen = latencyAware.choose(hedge).block().getServer();
+            assertNotEquals(FAST_1, chosen);
+        }
+        assertEquals(FAST_1, latencyAware.choose(List.of(FAST_1), "10.0.0.1:8080").getServer());
+    }
+
+    private List<Long> simulate(ReactorServiceInstanceLoadBalancer loadBalancer, LatencyAwareLoadBalancer lifecycle) {
+        record Pending(long completion, Request<Object> request, Response<ServiceInstance> response) {
+        }
+        PriorityQueue<Pending> pending = new PriorityQueue<>((a, b) -> Long.compare(a.completion(), b.completion()));
+        List<Long> latencies = new ArrayList<>();
+        long start = now.get();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            long arrival = start + i * ARRIVAL_INTERVAL;
+            while (!pending.isEmpty() && pending.peek().completion() <= arrival) {
+                Pending done = pending.poll();
+                now.set(done.completion());
+                if (lifecycle != null) {
+                    lifecycle.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, done.request(), done.response()));
+                }
+            }
+            now.set(arrival);
+
+            Request<Object> request = request();
+            Response<ServiceInstance> response = loadBalancer.choose(request).block();
+            if (lifecycle != null) {
+                lifecycle.onStartRequest(request, response);
+            }
+            long latency = response.getServer() == SLOW ? SLOW_LATENCY : FAST_LATENCY;
+            latencies.add(latency);
+            pending.add(new Pending(arrival + latency, request, response));
+        }
+        now.set(start + REQUESTS * ARRIVAL_INTERVAL + SLOW_LATENCY);
+        return latencies;
+    }
+
+    private void complete(LatencyAwareLoadBalancer loadBalancer, ServiceInstance instance, long latency) {
+        Request<Object> request = request();
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        loadBalancer.onStartRequest(request, response);
+        now.addAndGet(latency);
+        loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+    }
+
+    private static Request<Object> request() {
+        return new DefaultRequest<>(new RequestDataContext());
+    }
+
+    private static ObjectProvider<ServiceInstanceListSupplier> instances() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("serviceInstanceListSupplier",
+                ServiceInstanceListSuppliers.from(SERVICE_ID, FAST_1, FAST_2, SLOW));
+        return beanFactory.getBeanProvider(ServiceInstanceListSupplier.class);
+    }
+
+    private static long percentile(List<Long> latencies, double percentile) {
+        List<Long> sorted = latencies.stream().sorted().toList();
+        return sorted.get((int) Math.ceil(percentile * sorted.size()) - 1);
+    }
+}
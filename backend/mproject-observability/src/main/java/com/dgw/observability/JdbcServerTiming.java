@@ -0,0 +1,49 @@
+package com.dgw.observability;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Records the JDBC time of each Hibernate session into the {@link ServerTiming} of the current request:
+ * {@code db} for statement executions, {@code db-connection} for waiting on the connection pool.
+ * <p>
+ * Registered with {@code spring.jpa.properties.hibernate.session.events.auto}; Hibernate creates one instance per
+ * session, and a session is used by a single thread.
+ */
+public class JdbcServerTiming implements SessionEventListener {
+
+    public static final String DB = "db";
+    public static final String DB_CONNECTION = "db-connection";
+
+    private long connectionAcquisitionStart;
+    private long executionStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionAcquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        ServerTiming.record(DB_CONNECTION, System.nanoTime() - connectionAcquisitionStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ServerTiming.record(DB, System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ServerTiming.record(DB, System.nanoTime() - executionStart);
+    }
+}
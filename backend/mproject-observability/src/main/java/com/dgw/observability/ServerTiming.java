@@ -0,0 +1,87 @@
+package com.dgw.observability;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Time spent per stage (database, downstream calls...) while handling one request, returned to the caller as a
+ * {@code Server-Timing} header, e.g. {@code db;dur=12.4, user-profile;dur=40.1, app;dur=61.0}.
+ * <p>
+ * The timing of the request being handled is bound to the current thread between {@link #start()} and
+ * {@link #close()}; {@link #record(String, long)} and {@link #time(String, Supplier)} are no-ops outside a request,
+ * so that instrumented code does not depend on a request being handled.
+ */
+public final class ServerTiming implements AutoCloseable {
+
+    public static final String HEADER = "Server-Timing";
+
+    /**
+     * Whole processing time of the request by the service.
+     */
+    public static final String APP = "app";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long start = System.nanoTime();
+    private final Map<String, Long> stages = new LinkedHashMap<>();
+
+    private ServerTiming() {
+    }
+
+    /**
+     * Starts timing the request handled by the current thread.
+     */
+    public static ServerTiming start() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Adds {@code nanos} to the stage {@code name} of the request handled by the current thread, if any.
+     */
+    public static void record(String name, long nanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(name, nanos);
+        }
+    }
+
+    public static <T> T time(String name, Supplier<T> stage) {
+        long start = System.nanoTime();
+        try {
+            return stage.get();
+        } finally {
+            record(name, System.nanoTime() - start);
+        }
+    }
+
+    public synchronized void add(String name, long nanos) {
+        stages.merge(name, nanos, Long::sum);
+    }
+
+    /**
+     * @return the header value: the recorded stages, then {@link #APP} for the time elapsed since {@link #start()}
+     */
+    public synchronized String header() {
+        StringBuilder header = new StringBuilder();
+        stages.forEach((name, nanos) -> header.append(metric(name, nanos)).append(", "));
+        return header.append(metric(APP, System.nanoTime() - start)).toString();
+    }
+
+    /**
+     * @return one metric of a {@code Server-Timing} header, the duration in milliseconds
+     */
+    public static String metric(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.1f", name, nanos / 1_000_000d);
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dgw.observability;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Adds the {@code Server-Timing} header when the controller starts writing the response, the last moment before the
+ * headers are sent. {@link #complete()} covers responses without a body.
+ */
+public class ServerTimingResponse extends HttpServletResponseWrapper {
+
+    private final ServerTiming timing;
+    private boolean headerAdded;
+
+    public ServerTimingResponse(HttpServletResponse response, ServerTiming timing) {
+        super(response);
+        this.timing = timing;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        addHeader();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        addHeader();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        addHeader();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        addHeader();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        addHeader();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        addHeader();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Adds the header if nothing was written yet.
+     */
+    public void complete() {
+        addHeader();
+    }
+
+    private void addHeader() {
+        if (!headerAdded && !isCommitted()) {
+            headerAdded = true;
+            setHeader(ServerTiming.HEADER, timing.header());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.dgw.observability;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A finished span, with the field names of the Zipkin v2 format.
+ *
+ * @param traceId   correlation id of the request
+ * @param id        id of this span
+ * @param parentId  id of the enclosing span, {@code null} for the root span
+ * @param timestamp start, in microseconds since the epoch
+ * @param duration  in microseconds
+ */
+public record Span(String traceId, String id, String parentId, String name, long timestamp, long duration,
+                   Map<String, String> tags) {
+
+    /**
+     * @return a random id of 16 hex digits
+     */
+    public static String newId() {
+        String hex = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return hex.length() == 16 ? hex : "0".repeat(16 - hex.length()) + hex;
+    }
+}
@@ -0,0 +1,12 @@
+package com.dgw.observability;
+
+/**
+ * Receives finished spans. Called on request threads (Netty event loops in the gateway): must not block.
+ */
+public interface SpanRecorder {
+
+    SpanRecorder NOOP = span -> {
+    };
+
+    void record(Span span);
+}
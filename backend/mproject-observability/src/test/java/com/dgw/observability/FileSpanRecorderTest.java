@@ -0,0 +1,60 @@
+package com.dgw.observability;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSpanRecorderTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldAppendOneJsonLinePerSpan() throws IOException {
+        // GIVEN
+        Path file = directory.resolve("traces/spans.jsonl");
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("http.method", "GET");
+        tags.put("http.path", "/api/projects/\"42\"");
+
+        // WHEN
+        try (FileSpanRecorder recorder = new FileSpanRecorder(file, 16)) {
+            recorder.record(new Span("trace-1", "00000000000000aa", null, "GET project-service", 1_000, 250, tags));
+            recorder.record(new Span("trace-1", "00000000000000bb", "00000000000000aa", "upstream", 1_010, 200, Map.of()));
+        }
+
+        // THEN
+        assertEquals(List.of(
+                "{\"traceId\":\"trace-1\",\"id\":\"00000000000000aa\",\"name\":\"GET project-service\",\"timestamp\":1000,"
+                        + "\"duration\":250,\"tags\":{\"http.method\":\"GET\",\"http.path\":\"/api/projects/\\\"42\\\"\"}}",
+                "{\"traceId\":\"trace-1\",\"id\":\"00000000000000bb\",\"parentId\":\"00000000000000aa\",\"name\":\"upstream\","
+                        + "\"timestamp\":1010,\"duration\":200}"),
+                Files.readAllLines(file));
+    }
+
+    @Test
+    void shouldDropSpansWhenQueueIsFull() {
+        // GIVEN
+        Path file = directory.resolve("spans.jsonl");
+        Span span = new Span("trace-1", Span.newId(), null, "GET project-service", 1_000, 250, Map.of());
+
+        // WHEN
+        try (FileSpanRecorder recorder = new FileSpanRecorder(file, 1)) {
+            for (int i = 0; i < 100_000; i++) {
+                recorder.record(span);
+            }
+
+            // THEN
+            assertTrue(recorder.dropped() > 0);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.dgw.observability;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingTest {
+
+    @Test
+    void shouldSumStagesOfCurrentRequest() {
+        // GIVEN
+        try (ServerTiming timing = ServerTiming.start()) {
+            ServerTiming.record(JdbcServerTiming.DB, TimeUnit.MICROSECONDS.toNanos(1_200));
+            ServerTiming.record("user-profile", TimeUnit.MILLISECONDS.toNanos(40));
+            ServerTiming.record(JdbcServerTiming.DB, TimeUnit.MICROSECONDS.toNanos(3_000));
+
+            // WHEN
+            String header = timing.header();
+
+            // THEN
+            assertTrue(header.matches("db;dur=4\\.2, user-profile;dur=40\\.0, app;dur=\\d+\\.\\d"), header);
+        }
+    }
+
+    @Test
+    void shouldIgnoreStagesOutsideRequest() {
+        // GIVEN
+        ServerTiming timing = ServerTiming.start();
+        timing.close();
+
+        // WHEN
+        ServerTiming.record(JdbcServerTiming.DB, TimeUnit.MILLISECONDS.toNanos(5));
+
+        // THEN
+        assertTrue(timing.header().startsWith(ServerTiming.APP + ";dur="));
+    }
+
+    @Test
+    void shouldAddHeaderBeforeBodyIsWritten() throws IOException {
+        // GIVEN
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try (ServerTiming timing = ServerTiming.start()) {
+            ServerTimingResponse timedResponse = new ServerTimingResponse(response, timing);
+            ServerTiming.record(JdbcServerTiming.DB, TimeUnit.MILLISECONDS.toNanos(5));
+
+            // WHEN
+            timedResponse.getWriter().write("{}");
+            timedResponse.flushBuffer();
+            ServerTiming.record(JdbcServerTiming.DB, TimeUnit.MILLISECONDS.toNanos(5));
+            timedResponse.complete();
+        }
+
+        // THEN
+        assertTrue(response.isCommitted());
+        assertEquals(1, response.getHeaders(ServerTiming.HEADER).size());
+        assertTrue(response.getHeader(ServerTiming.HEADER).startsWith("db;dur=5.0, app;dur="));
+    }
+
+    @Test
+    void shouldAddHeaderToResponseWithoutBody() {
+        // GIVEN
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try (ServerTiming timing = ServerTiming.start()) {
+            ServerTimingResponse timedResponse = new ServerTimingResponse(response, timing);
+            assertNull(response.getHeader(ServerTiming.HEADER));
+
+            // WHEN
+            timedResponse.setStatus(204);
+            timedResponse.complete();
+        }
+
+        // THEN
+        assertTrue(response.getHeader(ServerTiming.HEADER).startsWith(ServerTiming.APP + ";dur="));
+    }
+}
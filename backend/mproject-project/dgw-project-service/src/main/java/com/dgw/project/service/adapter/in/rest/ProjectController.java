@@ -1,8 +1,9 @@
 package com.dgw.project.service.adapter.in.rest;
 
+import com.dgw.jwt.GatewayIdentity;
+import com.dgw.jwt.UserIdentityVerifier;
 import com.dgw.project.core.project.model.DeleteProjectCommand;
 import com.dgw.project.core.project.port.in.ProjectUseCases;
-import com.dgw.project.service.adapter.in.rest.infrastructure.jwt.JWTTokenService;
 import com.dgw.project.service.adapter.in.rest.model.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -27,7 +28,7 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectUseCases projectUseCases;
-    private final JWTTokenService jwtTokenService;
+    private final UserIdentityVerifier userIdentityVerifier;
 
     @PostMapping
     @Operation(summary = "Create a new project", description = "Creates a new project with the provided details.",
@@ -49,9 +50,10 @@ public class ProjectController {
                     )
             })
     public ResponseEntity<ProjectDto> createProject(@Valid @RequestBody CreateProjectPayload payload,
+                                                    @Parameter(hidden = true) @RequestHeader(value = GatewayIdentity.HEADER, required = false) String gatewayIdentityHeader,
                                                     @Parameter(description = "JWT token for the connected user", hidden = true)
                                                     @RequestHeader("Authorization") String authorizationHeader) {
-        String connectedUserEmail = jwtTokenService.extractUserEmail(authorizationHeader);
+        String connectedUserEmail = userIdentityVerifier.verify(gatewayIdentityHeader, authorizationHeader);
 
         var projectDto = ProjectDto.from(
                 projectUseCases.createProject(payload.toCommand(connectedUserEmail))
@@ -106,9 +108,10 @@ public class ProjectController {
                     )
             })
     public ResponseEntity<List<ProjectDto>> getMyProjects(
+            @Parameter(hidden = true) @RequestHeader(value = GatewayIdentity.HEADER, required = false) String gatewayIdentityHeader,
             @Parameter(description = "JWT token for the connected user", hidden = true)
             @RequestHeader("Authorization") String authorizationHeader) {
-        String connectedUserEmail = jwtTokenService.extractUserEmail(authorizationHeader);
+        String connectedUserEmail = userIdentityVerifier.verify(gatewayIdentityHeader, authorizationHeader);
         
         return ResponseEntity.ok(projectUseCases.getProjectsByOwnerEmail(connectedUserEmail).stream()
                 .map(ProjectDto::from)
@@ -139,8 +142,9 @@ public class ProjectController {
     @Operation(summary = "Add a task to project", description = "Adds a new task to an existing project.")
     public ResponseEntity<ProjectDto> addTaskToProject(@PathVariable("projectId") String projectId,
                                                        @RequestBody AddTaskToProjectPayload payload,
+                                                       @Parameter(hidden = true) @RequestHeader(value = GatewayIdentity.HEADER, required = false) String gatewayIdentityHeader,
                                                        @RequestHeader("Authorization") String authorizationHeader) {
-        String connectedUserEmail = jwtTokenService.extractUserEmail(authorizationHeader);
+        String connectedUserEmail = userIdentityVerifier.verify(gatewayIdentityHeader, authorizationHeader);
         return ResponseEntity.ok(ProjectDto.from(
                 projectUseCases.addTaskToProject(payload.toCommand(projectId, connectedUserEmail))
         ));
@@ -1,9 +1,10 @@
 package com.dgw.project.service.adapter.in.rest;
 
+import com.dgw.jwt.GatewayIdentity;
+import com.dgw.jwt.UserIdentityVerifier;
 import com.dgw.project.core.report.model.GetProjectSummaryCommand;
 import com.dgw.project.core.report.model.ProjectSummaryReport;
 import com.dgw.project.core.task.model.TaskStatus;
-import com.dgw.project.service.adapter.in.rest.infrastructure.jwt.JWTTokenService;
 import com.dgw.project.service.adapter.in.rest.infrastructure.service.ExportFileService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.ByteArrayResource;
@@ -21,7 +22,7 @@ import java.time.LocalDateTime;
 public class ReportController {
 
     private final ExportFileService exportFileService;
-    private final JWTTokenService jwtTokenService;
+    private final UserIdentityVerifier userIdentityVerifier;
 
     @GetMapping("/{projectId}/export")
     public ResponseEntity<ByteArrayResource> export(
@@ -29,9 +30,10 @@ public class ReportController {
             @RequestParam("taskStatus") TaskStatus taskStatus,
             @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
             @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = GatewayIdentity.HEADER, required = false) String gatewayIdentityHeader,
             @RequestHeader("Authorization") String authorizationHeader
     ) {
-        String connectedUserEmail = jwtTokenService.extractUserEmail(authorizationHeader);
+        String connectedUserEmail = userIdentityVerifier.verify(gatewayIdentityHeader, authorizationHeader);
         ProjectSummaryReport projectSummaryReport = exportFileService.exportTasksToCsv(new GetProjectSummaryCommand(connectedUserEmail, projectId, taskStatus, from, to));
 
         return ResponseEntity.ok()
@@ -0,0 +1,96 @@
+package com.dgw.project.service.adapter.in.rest.infrastructure.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit adapted from observed latency (gradient algorithm).
+ * <p>
+ * A slow moving average of the latency tracks what the service delivers when healthy, a fast one what it delivers
+ * right now. Their ratio, the gradient, shrinks the limit as soon as latency rises (e.g. MySQL slowing down) and
+ * lets it grow again by {@code sqrt(limit)} while latency stays flat, so requests in excess of what the database
+ * can serve are rejected up front instead of queueing on Tomcat threads and Hikari connections.
+ * A lasting latency change eventually becomes the new baseline and the limit settles accordingly.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double LONG_WINDOW_WEIGHT = 0.01;
+    private static final double SHORT_WINDOW_WEIGHT = 0.2;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    private volatile int limit;
+    private double limitEstimate;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    public AdaptiveConcurrencyLimit(String group, int initialLimit, int minLimit, int maxLimit, MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.limitEstimate = initialLimit;
+        this.rejected = Counter.builder("project.concurrency.rejected")
+                .description("Requests rejected by the concurrency limiter")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("project.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current concurrency limit")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("project.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests currently in flight")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code false} when the request must be rejected; otherwise {@link #release(long)} must follow
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        update(rttNanos, current);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtCompletion) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += SHORT_WINDOW_WEIGHT * (rttNanos - shortRttNanos);
+        longRttNanos += LONG_WINDOW_WEIGHT * (rttNanos - longRttNanos);
+
+        // Don't raise the limit while the traffic doesn't use it, it would not be backed by any measurement
+        if (shortRttNanos <= longRttNanos && inFlightAtCompletion < limitEstimate / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / shortRttNanos));
+        double newLimit = limitEstimate * gradient + Math.sqrt(limitEstimate);
+        limitEstimate = Math.max(minLimit, Math.min(maxLimit, limitEstimate * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        limit = (int) limitEstimate;
+    }
+}
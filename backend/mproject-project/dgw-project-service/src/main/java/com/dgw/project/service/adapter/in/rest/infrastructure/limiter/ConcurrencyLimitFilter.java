@@ -0,0 +1,134 @@
+package com.dgw.project.service.adapter.in.rest.infrastructure.limiter;
+
+import com.dgw.project.service.adapter.in.rest.model.ProjectApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load early with a 503 once the adaptive concurrency limit of the request's group is reached.
+ * Exports, the requests matching the export route pattern, have their own, smaller, limit so that they cannot starve
+ * the cheap requests. The permit of an asynchronous request is only released once it completes. Rejections are
+ * counted by {@link AdaptiveConcurrencyLimit} and only logged at debug level, so that an overload does not flood the
+ * logs.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimit standardLimit;
+    private final AdaptiveConcurrencyLimit exportLimit;
+    private final PathPattern exportRoute;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit standardLimit,
+                                  AdaptiveConcurrencyLimit exportLimit,
+                                  PathPattern exportRoute,
+                                  long retryAfterSeconds,
+                                  ObjectMapper objectMapper) {
+        this.standardLimit = standardLimit;
+        this.exportLimit = exportLimit;
+        this.exportRoute = exportRoute;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        AdaptiveConcurrencyLimit limit = isExport(request) ? exportLimit : standardLimit;
+
+        if (!limit.tryAcquire()) {
+            log.debug("Request rejected, concurrency limit {} reached | URI: {}", limit.getLimit(), request.getRequestURI());
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(limit, start));
+            } else {
+                limit.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private boolean isExport(HttpServletRequest request) {
+        RequestPath path = RequestPath.parse(request.getRequestURI(), request.getContextPath());
+        return exportRoute.matches(path.pathWithinApplication());
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ProjectApiError(status.value(), status.name(), "Service overloaded, retry later."));
+    }
+
+    /**
+     * Releases the permit once, whichever of the completion, error or timeout is notified first.
+     */
+    private static final class ReleasingAsyncListener implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingAsyncListener(AdaptiveConcurrencyLimit limit, long start) {
+            this.limit = limit;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Still the same request: kept registered, the permit is released once its last cycle completes
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -1,36 +1,116 @@
 package com.dgw.project.service.adapter.in.rest.infrastructure.logging;
 
+import com.dgw.project.service.config.HttpClientProperties;
 import feign.Logger;
 import feign.Request;
 import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Feign logger recording the duration of every call as a metric and logging only a sample of the calls.
+ * Logged bodies are capped: the response is never read beyond {@code maxBodySize}, the consumed prefix is
+ * stitched back in front of the remaining stream instead of copying the whole payload.
+ * Timers are registered once per client method and status, then looked up on every call.
+ */
 @Slf4j
 public class CustomFeignLogger extends Logger {
 
+    private static final String TIMER_NAME = "project.http.client.requests";
+    private static final String NO_BODY = "No Body";
+
+    // Feign logs the request and its response on the calling thread
+    private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+
+    private final double sampleRate;
+    private final int maxBodySize;
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public CustomFeignLogger(HttpClientProperties.Logging logging, MeterRegistry meterRegistry) {
+        this.sampleRate = logging.sampleRate();
+        this.maxBodySize = (int) logging.maxBodySize().toBytes();
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     protected void log(String configKey, String format, Object... args) {
-        log.info(String.format(methodTag(configKey) + format, args));
+        if (log.isInfoEnabled()) {
+            log.info(methodTag(configKey) + format.formatted(args));
+        }
     }
 
     @Override
     protected void logRequest(String configKey, Level logLevel, Request request) {
-        String requestBody = request.body() != null ? new String(request.body(), StandardCharsets.UTF_8) : "No Body";
-        log(configKey, "Feign Request - Method: %s | URL: %s | Body: %s", request.httpMethod(), request.url(), requestBody);
+        boolean sampled = log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        SAMPLED.set(sampled);
+        if (!sampled) {
+            return;
+        }
+
+        String requestBody = NO_BODY;
+        if (logLevel == Level.FULL && request.body() != null) {
+            int length = Math.min(request.body().length, maxBodySize);
+            requestBody = truncated(new String(request.body(), 0, length, StandardCharsets.UTF_8), request.body().length > length);
+        }
+        log.info("{}Feign Request - Method: {} | URL: {} | Body: {}", methodTag(configKey), request.httpMethod(), request.url(), requestBody);
     }
 
     @Override
     protected Response logAndRebufferResponse(String configKey, Level logLevel, Response response, long elapsedTime) throws IOException {
-        String responseBody = "No Body";
-        if (response.body() != null) {
-            byte[] bodyData = response.body().asInputStream().readAllBytes();
-            responseBody = new String(bodyData, StandardCharsets.UTF_8);
-            response = response.toBuilder().body(bodyData).build(); // Rebuffer la réponse pour éviter qu'elle ne soit consommée
+        timer(configKey, String.valueOf(response.status())).record(elapsedTime, TimeUnit.MILLISECONDS);
+
+        boolean sampled = Boolean.TRUE.equals(SAMPLED.get());
+        SAMPLED.remove();
+        if (!sampled) {
+            return response;
         }
-        log(configKey, "Feign Response - Status: %d | Body: %s", response.status(), responseBody);
+
+        String responseBody = NO_BODY;
+        if (logLevel == Level.FULL && response.body() != null) {
+            InputStream body = response.body().asInputStream();
+            byte[] head = body.readNBytes(maxBodySize);
+            Integer length = response.body().length();
+            boolean bodyTruncated = length != null ? length > head.length : head.length == maxBodySize;
+            responseBody = truncated(new String(head, StandardCharsets.UTF_8), bodyTruncated);
+            response = response.toBuilder()
+                    .body(new SequenceInputStream(new ByteArrayInputStream(head), body), length)
+                    .build();
+        }
+        log.info("{}Feign Response - Status: {} | Elapsed: {} ms | Body: {}", methodTag(configKey), response.status(), elapsedTime, responseBody);
         return response;
     }
+
+    @Override
+    protected IOException logIOException(String configKey, Level logLevel, IOException ioe, long elapsedTime) {
+        SAMPLED.remove();
+        timer(configKey, "IO_ERROR").record(elapsedTime, TimeUnit.MILLISECONDS);
+        return super.logIOException(configKey, logLevel, ioe, elapsedTime);
+    }
+
+    private Timer timer(String configKey, String status) {
+        return timers.computeIfAbsent(new TimerKey(configKey, status), key -> Timer.builder(TIMER_NAME)
+                .description("Feign client call duration")
+                .tag("method", key.configKey())
+                .tag("status", key.status())
+                .register(meterRegistry));
+    }
+
+    private static String truncated(String body, boolean bodyTruncated) {
+        return bodyTruncated ? body + "... (truncated)" : body;
+    }
+
+    private record TimerKey(String configKey, String status) {
+    }
 }
@@ -1,5 +1,7 @@
 package com.dgw.project.service.adapter.in.rest.infrastructure.logging;
 
+import com.dgw.observability.ServerTiming;
+import com.dgw.observability.ServerTimingResponse;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +17,9 @@ import java.util.UUID;
 
 /**
  * Intercepteur HTTP pour gérer le Correlation ID dans le service Project.
+ * <p>
+ * Mesure aussi les étapes du traitement (requêtes SQL, appels aux autres services), renvoyées dans le header
+ * {@code Server-Timing}.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
@@ -33,9 +38,13 @@ public class MDCProjectCorrelationIdInterceptor extends OncePerRequestFilter {
 
         MDC.put(CORRELATION_ID_HEADER, correlationId);
 
+        ServerTiming timing = ServerTiming.start();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, timing);
         try {
-            filterChain.doFilter(request, response);
+            filterChain.doFilter(request, timedResponse);
+            timedResponse.complete();
         } finally {
+            timing.close();
             MDC.clear();
         }
     }
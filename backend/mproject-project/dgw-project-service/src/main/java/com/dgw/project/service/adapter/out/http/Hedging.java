@@ -0,0 +1,227 @@
+package com.dgw.project.service.adapter.out.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Hedged execution of idempotent downstream lookups: when the call has not answered within the recently
+ * observed p95 latency, a second identical call is sent and the first successful answer wins.
+ * The hedge is sent to another replica: the transport reports the instance each attempt went to with
+ * {@link #recordInstance(String)}, and the hedge attempt exposes the primary's one through {@link #excludedInstance()}
+ * so that it is passed to the load balancer as an exclusion hint.
+ * <p>
+ * Hedges are paid from a budget that every call refills by {@code budgetRatio}, so hedging can add at most
+ * that fraction of extra load, even when the whole downstream service slows down.
+ *
+ * @param <V> response type
+ */
+public class Hedging<V> {
+
+    private static final int WINDOW_SIZE = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final long BUDGET_UNIT = 1_000;
+    private static final long MAX_BUDGET = 10 * BUDGET_UNIT;
+    private static final ThreadLocal<Attempt> CURRENT_ATTEMPT = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final long minDelayNanos;
+    private final long budgetRefill;
+    private final Executor executor;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicInteger samples = new AtomicInteger();
+    private final AtomicLong hedgeDelayNanos;
+    private final AtomicLong budget = new AtomicLong(MAX_BUDGET);
+
+    private final Counter calls;
+    private final Counter hedges;
+    private final Counter hedgeWins;
+
+    public Hedging(String clientName, boolean enabled, double budgetRatio, Duration minDelay,
+                   Executor executor, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minDelayNanos = minDelay.toNanos();
+        this.budgetRefill = Math.round(budgetRatio * BUDGET_UNIT);
+        this.executor = executor;
+        this.hedgeDelayNanos = new AtomicLong(minDelayNanos);
+        this.calls = Counter.builder("project.http.hedging.calls")
+                .description("Calls eligible for hedging")
+                .tag("client", clientName)
+                .register(meterRegistry);
+        this.hedges = Counter.builder("project.http.hedging.hedges")
+                .description("Hedge requests sent")
+                .tag("client", clientName)
+                .register(meterRegistry);
+        this.hedgeWins = Counter.builder("project.http.hedging.wins")
+                .description("Calls answered by the hedge request first")
+                .tag("client", clientName)
+                .register(meterRegistry);
+        Gauge.builder("project.http.hedging.delay", hedgeDelayNanos, delay -> delay.get() / 1_000_000d)
+                .description("Current hedge delay, the observed p95 latency")
+                .baseUnit("milliseconds")
+                .tag("client", clientName)
+                .register(meterRegistry);
+    }
+
+    public V execute(Supplier<V> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        calls.increment();
+        refillBudget();
+
+        Attempt primaryAttempt = new Attempt(null);
+        CompletableFuture<V> primary = submit(call, primaryAttempt);
+        try {
+            return primary.get(hedgeDelayNanos.get(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!tryAcquireBudget()) {
+                return await(primary);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for downstream call", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+
+        hedges.increment();
+        CompletableFuture<V> hedge = submit(call, new Attempt(primaryAttempt.instance));
+        CompletableFuture<V> firstSuccess = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((result, error) -> complete(firstSuccess, result, error, failures));
+        hedge.whenComplete((result, error) -> {
+            if (complete(firstSuccess, result, error, failures)) {
+                hedgeWins.increment();
+            }
+        });
+        return await(firstSuccess);
+    }
+
+    /**
+     * Records the instance ({@code host:port}) the load balancer picked for the attempt running on this thread.
+     */
+    public static void recordInstance(String instance) {
+        Attempt attempt = CURRENT_ATTEMPT.get();
+        if (attempt != null) {
+            attempt.instance = instance;
+        }
+    }
+
+    /**
+     * @return the instance the attempt running on this thread must avoid, the primary's one for a hedge,
+     * {@code null} otherwise
+     */
+    public static String excludedInstance() {
+        Attempt attempt = CURRENT_ATTEMPT.get();
+        return attempt != null ? attempt.excludedInstance : null;
+    }
+
+    private CompletableFuture<V> submit(Supplier<V> call, Attempt attempt) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            Attempt previous = CURRENT_ATTEMPT.get();
+            CURRENT_ATTEMPT.set(attempt);
+            long start = System.nanoTime();
+            try {
+                V result = call.get();
+                recordLatency(System.nanoTime() - start);
+                return result;
+            } finally {
+                CURRENT_ATTEMPT.set(previous);
+                MDC.clear();
+            }
+        }, executor);
+    }
+
+    /**
+     * @return {@code true} when this outcome is the answer returned to the caller
+     */
+    private static <V> boolean complete(CompletableFuture<V> firstSuccess, V result, Throwable error, AtomicInteger failures) {
+        if (error == null) {
+            return firstSuccess.complete(result);
+        }
+        if (failures.incrementAndGet() == 2) {
+            firstSuccess.completeExceptionally(error);
+        }
+        return false;
+    }
+
+    private void recordLatency(long nanos) {
+        int sample = samples.getAndIncrement();
+        latencies.set(Math.floorMod(sample, WINDOW_SIZE), nanos);
+        if (sample >= WINDOW_SIZE && sample % RECOMPUTE_EVERY == 0) {
+            long[] window = new long[WINDOW_SIZE];
+            for (int i = 0; i < WINDOW_SIZE; i++) {
+                window[i] = latencies.get(i);
+            }
+            Arrays.sort(window);
+            hedgeDelayNanos.set(Math.max(minDelayNanos, window[(int) (WINDOW_SIZE * 0.95)]));
+        }
+    }
+
+    private void refillBudget() {
+        budget.getAndUpdate(current -> Math.min(MAX_BUDGET, current + budgetRefill));
+    }
+
+    private boolean tryAcquireBudget() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < BUDGET_UNIT) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - BUDGET_UNIT));
+        return true;
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for downstream call", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static final class Attempt {
+
+        private final String excludedInstance;
+        private volatile String instance;
+
+        private Attempt(String excludedInstance) {
+            this.excludedInstance = excludedInstance;
+        }
+    }
+}
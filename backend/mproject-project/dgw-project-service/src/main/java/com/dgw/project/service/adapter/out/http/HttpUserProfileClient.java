@@ -1,5 +1,6 @@
 package com.dgw.project.service.adapter.out.http;
 
+import com.dgw.observability.ServerTiming;
 import com.dgw.project.core.project.model.GetUserProfilesFromEmailsPayload;
 import com.dgw.project.core.project.model.Member;
 import com.dgw.project.core.project.port.out.http.UserProfileClient;
@@ -13,10 +14,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class HttpUserProfileClient implements UserProfileClient {
 
+    private static final String SERVER_TIMING_STAGE = "user-profile";
+
     private final UserProfileFeignClient userProfileFeignClient;
+    private final SingleFlight<GetUserProfilesFromEmailsPayload, List<Member>> userProfileSingleFlight;
+    private final Hedging<List<Member>> userProfileHedging;
 
     @Override
     public List<Member> find(GetUserProfilesFromEmailsPayload payload) {
-        return UserProfileResponse.toDomain(userProfileFeignClient.find(payload));
+        return ServerTiming.time(SERVER_TIMING_STAGE, () -> userProfileSingleFlight.execute(payload,
+                () -> userProfileHedging.execute(() -> UserProfileResponse.toDomain(userProfileFeignClient.find(payload)))));
     }
 }
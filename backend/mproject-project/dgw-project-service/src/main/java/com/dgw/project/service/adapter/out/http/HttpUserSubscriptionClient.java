@@ -1,20 +1,44 @@
 package com.dgw.project.service.adapter.out.http;
 
+import com.dgw.observability.ServerTiming;
+import com.dgw.project.core.project.model.GetEntitlementsPayload;
 import com.dgw.project.core.project.model.GetUserSubscriptionPayload;
 import com.dgw.project.core.project.model.UserSubscription;
 import com.dgw.project.core.project.port.out.http.UserSubscriptionClient;
+import com.dgw.project.service.adapter.out.http.UserSubscriptionFeignClient.EntitlementsRequest;
 import com.dgw.project.service.adapter.out.http.UserSubscriptionFeignClient.UserSubscriptionResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+
 @Component
 @RequiredArgsConstructor
 public class HttpUserSubscriptionClient implements UserSubscriptionClient {
 
+    private static final String SERVER_TIMING_STAGE = "subscription";
+
     private final UserSubscriptionFeignClient userSubscriptionFeignClient;
+    private final SingleFlight<GetUserSubscriptionPayload, UserSubscription> userSubscriptionSingleFlight;
+    private final Hedging<UserSubscription> userSubscriptionHedging;
+    private final SingleFlight<GetEntitlementsPayload, List<UserSubscription>> userEntitlementsSingleFlight;
 
     @Override
     public UserSubscription get(GetUserSubscriptionPayload payload) {
-        return UserSubscriptionResponse.toDomain(userSubscriptionFeignClient.get(payload));
+        return ServerTiming.time(SERVER_TIMING_STAGE, () -> userSubscriptionSingleFlight.execute(payload,
+                () -> userSubscriptionHedging.execute(() -> UserSubscriptionResponse.toDomain(userSubscriptionFeignClient.get(payload)))));
+    }
+
+    /**
+     * Not hedged: a hedge would send the whole batch again. The users without subscription are left out.
+     */
+    @Override
+    public List<UserSubscription> getEntitlements(GetEntitlementsPayload payload) {
+        return ServerTiming.time(SERVER_TIMING_STAGE, () -> userEntitlementsSingleFlight.execute(payload,
+                () -> userSubscriptionFeignClient.getEntitlements(EntitlementsRequest.from(payload)).stream()
+                        .map(UserSubscriptionResponse::toDomain)
+                        .filter(Objects::nonNull)
+                        .toList()));
     }
 }
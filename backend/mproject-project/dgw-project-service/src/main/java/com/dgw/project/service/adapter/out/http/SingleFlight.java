@@ -0,0 +1,75 @@
+package com.dgw.project.service.adapter.out.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent downstream calls: while a call for a given key is in flight,
+ * every other caller asking for the same key waits for it and receives its result (or its exception)
+ * instead of issuing its own request.
+ *
+ * @param <K> request key, must implement {@code equals}/{@code hashCode} (payload records do)
+ * @param <V> response type
+ */
+public class SingleFlight<K, V> {
+
+    private final boolean enabled;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter collapsedCalls;
+
+    /**
+     * @param operation call of the client coalesced, so that the calls of a client keep distinct meters
+     */
+    public SingleFlight(String clientName, String operation, boolean enabled, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.collapsedCalls = Counter.builder("project.http.single-flight.collapsed")
+                .description("Downstream calls served by an identical call already in flight")
+                .tag("client", clientName)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            collapsedCalls.increment();
+            return await(existing);
+        }
+
+        try {
+            V result = call.get();
+            leader.complete(result);
+            return result;
+        } catch (Throwable e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
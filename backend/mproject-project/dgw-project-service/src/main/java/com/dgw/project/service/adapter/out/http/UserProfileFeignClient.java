@@ -2,6 +2,7 @@ package com.dgw.project.service.adapter.out.http;
 
 import com.dgw.project.core.project.model.GetUserProfilesFromEmailsPayload;
 import com.dgw.project.core.project.model.Member;
+import com.dgw.project.service.config.FeignClientTransportConfig;
 import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -9,10 +10,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
 
-@FeignClient(name = "operis-user-profile-service")
-@LoadBalancerClient(name = "operis-user-profile-service")
+@FeignClient(name = UserProfileFeignClient.CLIENT_NAME, configuration = FeignClientTransportConfig.class)
+@LoadBalancerClient(name = UserProfileFeignClient.CLIENT_NAME)
 public interface UserProfileFeignClient {
 
+    String CLIENT_NAME = "operis-user-profile-service";
+
     @PostMapping("/api/user-profiles/find")
     List<UserProfileResponse> find(@RequestBody GetUserProfilesFromEmailsPayload payload);
 
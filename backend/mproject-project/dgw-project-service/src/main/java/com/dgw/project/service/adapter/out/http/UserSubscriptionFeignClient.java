@@ -1,28 +1,45 @@
 package com.dgw.project.service.adapter.out.http;
 
+import com.dgw.project.core.project.model.GetEntitlementsPayload;
 import com.dgw.project.core.project.model.GetUserSubscriptionPayload;
 import com.dgw.project.core.project.model.UserSubscription;
+import com.dgw.project.service.config.FeignClientTransportConfig;
 import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
-@FeignClient(name = "operis-subscription-service")
-@LoadBalancerClient(name = "operis-subscription-service")
+@FeignClient(name = UserSubscriptionFeignClient.CLIENT_NAME, configuration = FeignClientTransportConfig.class)
+@LoadBalancerClient(name = UserSubscriptionFeignClient.CLIENT_NAME)
 public interface UserSubscriptionFeignClient {
 
+    String CLIENT_NAME = "operis-subscription-service";
+
     @PostMapping("/api/user-subscriptions/get")
     UserSubscriptionResponse get(@RequestBody GetUserSubscriptionPayload payload);
 
+    @PostMapping("/api/user-subscriptions/entitlements")
+    List<UserSubscriptionResponse> getEntitlements(@RequestBody EntitlementsRequest request);
+
+    record EntitlementsRequest(Set<String> userEmails, FeatureResponse feature) {
+        public static EntitlementsRequest from(GetEntitlementsPayload payload) {
+            return new EntitlementsRequest(payload.userEmails(),
+                    payload.feature() != null ? FeatureResponse.from(payload.feature()) : null);
+        }
+    }
+
     record UserSubscriptionResponse(String userEmail, SubscriptionResponse subscription) {
         public static UserSubscription toDomain(UserSubscriptionResponse userSubscription) {
-            return userSubscription != null ? new UserSubscription(userSubscription.userEmail(),
+            return userSubscription != null && userSubscription.subscription() != null ? new UserSubscription(userSubscription.userEmail(),
                     userSubscription.subscription().name(),
                     userSubscription.subscription().features().stream()
                             .map(FeatureResponse::toDomain)
-                            .toList())
+                            .collect(Collectors.toCollection(() -> EnumSet.noneOf(UserSubscription.Feature.class))))
                     : null;
         }
     }
@@ -38,6 +55,12 @@ public interface UserSubscriptionFeignClient {
                 case TASK_EXPORT -> UserSubscription.Feature.EXPORT;
             };
         }
+
+        static FeatureResponse from(UserSubscription.Feature feature) {
+            return switch (feature) {
+                case EXPORT -> TASK_EXPORT;
+            };
+        }
     }
 }
 
@@ -0,0 +1,43 @@
+package com.dgw.project.service.config;
+
+import com.dgw.project.service.adapter.in.rest.infrastructure.limiter.AdaptiveConcurrencyLimit;
+import com.dgw.project.service.adapter.in.rest.infrastructure.limiter.ConcurrencyLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "project.concurrency-limit", name = "enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    // Route of ReportController#export
+    private static final String EXPORT_ROUTE = "/api/projects/{projectId}/export";
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                                                ObjectMapper objectMapper,
+                                                                                MeterRegistry meterRegistry) {
+        var filter = new ConcurrencyLimitFilter(
+                limit("standard", properties.standard(), meterRegistry),
+                limit("export", properties.export(), meterRegistry),
+                PathPatternParser.defaultInstance.parse(EXPORT_ROUTE),
+                properties.retryAfter().toSeconds(),
+                objectMapper);
+
+        var registration = new FilterRegistrationBean<>(filter);
+        // Right after MDCProjectCorrelationIdInterceptor so that rejections are logged with the correlation id
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimit limit(String group, ConcurrencyLimitProperties.Group limits, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimit(group, limits.initialLimit(), limits.minLimit(), limits.maxLimit(), meterRegistry);
+    }
+}
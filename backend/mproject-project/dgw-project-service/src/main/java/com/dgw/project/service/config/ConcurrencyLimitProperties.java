@@ -0,0 +1,25 @@
+package com.dgw.project.service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits of the adaptive concurrency limiter; {@code export} applies to the CSV exports, {@code standard} to
+ * every other request.
+ */
+@ConfigurationProperties(prefix = "project.concurrency-limit")
+public record ConcurrencyLimitProperties(@DefaultValue("true") boolean enabled,
+                                         @DefaultValue("1s") Duration retryAfter,
+                                         Group standard,
+                                         Group export) {
+
+    public ConcurrencyLimitProperties {
+        standard = standard != null ? standard : new Group(20, 5, 200);
+        export = export != null ? export : new Group(4, 1, 20);
+    }
+
+    public record Group(int initialLimit, int minLimit, int maxLimit) {
+    }
+}
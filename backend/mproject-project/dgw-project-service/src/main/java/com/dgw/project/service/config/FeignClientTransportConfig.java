@@ -0,0 +1,150 @@
+package com.dgw.project.service.config;
+
+import com.dgw.loadbalancer.LatencyAwareLoadBalancer;
+import com.dgw.project.service.adapter.out.http.Hedging;
+import com.dgw.project.service.config.HttpClientProperties.Client;
+import feign.Request;
+import feign.RequestInterceptor;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
+import org.springframework.context.annotation.Bean;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign client specific configuration, referenced from {@code @FeignClient(configuration = ...)}.
+ * Beans are created in each client's own context, so every downstream service gets its own connection pool
+ * and timeouts read from {@link HttpClientProperties}.
+ * <p>
+ * Deliberately not annotated with {@code @Configuration}: it must not be picked up by component scanning,
+ * otherwise its beans would be shared by all clients.
+ * <p>
+ * With either transport, the client also reports to {@link Hedging} the instance each call went to, and a hedge call
+ * carries the instance of the call it doubles as an exclusion hint for {@link LatencyAwareLoadBalancer}. The hint is
+ * removed once the instance is chosen, so it never reaches the downstream service.
+ */
+public class FeignClientTransportConfig {
+
+    private static final String CLIENT_NAME = "${spring.cloud.openfeign.client.name}";
+
+    @Bean
+    public Request.Options feignRequestOptions(@Value(CLIENT_NAME) String clientName, HttpClientProperties properties) {
+        Client client = properties.client(clientName);
+        return new Request.Options(client.connectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                client.readTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                true);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "project.http", name = "transport", havingValue = "hc5", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager feignConnectionManager(@Value(CLIENT_NAME) String clientName,
+                                                                     HttpClientProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = connectionManager(properties.client(clientName));
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, clientName).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "project.http", name = "transport", havingValue = "hc5", matchIfMissing = true)
+    public CloseableHttpClient feignHttpClient(@Value(CLIENT_NAME) String clientName,
+                                               HttpClientProperties properties,
+                                               PoolingHttpClientConnectionManager feignConnectionManager) {
+        return httpClient(properties.client(clientName), feignConnectionManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "project.http", name = "transport", havingValue = "hc5", matchIfMissing = true)
+    public feign.Client feignClient(CloseableHttpClient feignHttpClient,
+                                    LoadBalancerClient loadBalancerClient,
+                                    LoadBalancerClientFactory loadBalancerClientFactory,
+                                    ObjectProvider<LoadBalancerFeignRequestTransformer> transformers) {
+        return new FeignBlockingLoadBalancerClient(recordingInstance(new ApacheHttp5Client(feignHttpClient)),
+                loadBalancerClient, loadBalancerClientFactory, transformers.orderedStream().toList());
+    }
+
+    /**
+     * Feign's default {@code HttpURLConnection} transport, declared here rather than left to Spring Cloud OpenFeign so
+     * that hedges avoid the instance of their primary call with it too.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "project.http", name = "transport", havingValue = "default")
+    public feign.Client defaultFeignClient(LoadBalancerClient loadBalancerClient,
+                                           LoadBalancerClientFactory loadBalancerClientFactory,
+                                           ObjectProvider<LoadBalancerFeignRequestTransformer> transformers) {
+        return new FeignBlockingLoadBalancerClient(recordingInstance(new feign.Client.Default(null, null)),
+                loadBalancerClient, loadBalancerClientFactory, transformers.orderedStream().toList());
+    }
+
+    @Bean
+    public RequestInterceptor hedgeExclusionInterceptor() {
+        return template -> {
+            String excludedInstance = Hedging.excludedInstance();
+            if (excludedInstance != null) {
+                template.header(LatencyAwareLoadBalancer.EXCLUDED_INSTANCE_HEADER, excludedInstance);
+            }
+        };
+    }
+
+    /**
+     * The load balancer has already replaced the service id with the chosen instance in the URL, and no longer needs
+     * the exclusion hint.
+     */
+    static feign.Client recordingInstance(feign.Client delegate) {
+        return (request, options) -> {
+            URI uri = URI.create(request.url());
+            Hedging.recordInstance(uri.getHost() + ':' + uri.getPort());
+            return delegate.execute(withoutExclusionHint(request), options);
+        };
+    }
+
+    private static Request withoutExclusionHint(Request request) {
+        if (request.headers().keySet().stream().noneMatch(LatencyAwareLoadBalancer.EXCLUDED_INSTANCE_HEADER::equalsIgnoreCase)) {
+            return request;
+        }
+        Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        headers.keySet().removeIf(LatencyAwareLoadBalancer.EXCLUDED_INSTANCE_HEADER::equalsIgnoreCase);
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+
+    static PoolingHttpClientConnectionManager connectionManager(Client client) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(client.maxConnections())
+                .setMaxConnPerRoute(client.maxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(client.connectTimeout().toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(client.readTimeout().toMillis()))
+                        .build())
+                .build();
+    }
+
+    static CloseableHttpClient httpClient(Client client, PoolingHttpClientConnectionManager connectionManager) {
+        TimeValue keepAlive = TimeValue.ofMilliseconds(client.keepAlive().toMillis());
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictIdleConnections(keepAlive)
+                .evictExpiredConnections()
+                .build();
+    }
+}
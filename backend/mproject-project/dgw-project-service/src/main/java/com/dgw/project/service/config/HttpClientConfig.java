@@ -0,0 +1,75 @@
+package com.dgw.project.service.config;
+
+import com.dgw.project.core.project.model.GetEntitlementsPayload;
+import com.dgw.project.core.project.model.GetUserProfilesFromEmailsPayload;
+import com.dgw.project.core.project.model.GetUserSubscriptionPayload;
+import com.dgw.project.core.project.model.Member;
+import com.dgw.project.core.project.model.UserSubscription;
+import com.dgw.project.service.adapter.out.http.Hedging;
+import com.dgw.project.service.adapter.out.http.SingleFlight;
+import com.dgw.project.service.adapter.out.http.UserProfileFeignClient;
+import com.dgw.project.service.adapter.out.http.UserSubscriptionFeignClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public SingleFlight<GetUserProfilesFromEmailsPayload, List<Member>> userProfileSingleFlight(HttpClientProperties properties,
+                                                                                              MeterRegistry meterRegistry) {
+        return singleFlight(UserProfileFeignClient.CLIENT_NAME, "find", properties, meterRegistry);
+    }
+
+    @Bean
+    public SingleFlight<GetUserSubscriptionPayload, UserSubscription> userSubscriptionSingleFlight(HttpClientProperties properties,
+                                                                                                  MeterRegistry meterRegistry) {
+        return singleFlight(UserSubscriptionFeignClient.CLIENT_NAME, "get", properties, meterRegistry);
+    }
+
+    @Bean
+    public SingleFlight<GetEntitlementsPayload, List<UserSubscription>> userEntitlementsSingleFlight(HttpClientProperties properties,
+                                                                                                     MeterRegistry meterRegistry) {
+        return singleFlight(UserSubscriptionFeignClient.CLIENT_NAME, "entitlements", properties, meterRegistry);
+    }
+
+    @Bean
+    public Hedging<List<Member>> userProfileHedging(HttpClientProperties properties,
+                                                    ExecutorService hedgingExecutor,
+                                                    MeterRegistry meterRegistry) {
+        return hedging(UserProfileFeignClient.CLIENT_NAME, properties, hedgingExecutor, meterRegistry);
+    }
+
+    @Bean
+    public Hedging<UserSubscription> userSubscriptionHedging(HttpClientProperties properties,
+                                                             ExecutorService hedgingExecutor,
+                                                             MeterRegistry meterRegistry) {
+        return hedging(UserSubscriptionFeignClient.CLIENT_NAME, properties, hedgingExecutor, meterRegistry);
+    }
+
+    /**
+     * Runs hedged calls, one virtual thread per call; concurrency is bounded by the connection pool of each client.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService hedgingExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hedging-", 0).factory());
+    }
+
+    private static <V> Hedging<V> hedging(String clientName, HttpClientProperties properties,
+                                          ExecutorService executor, MeterRegistry meterRegistry) {
+        HttpClientProperties.Hedge hedge = properties.client(clientName).hedge();
+        return new Hedging<>(clientName, hedge.enabled(), hedge.budget(), hedge.minDelay(), executor, meterRegistry);
+    }
+
+    private static <K, V> SingleFlight<K, V> singleFlight(String clientName, String operation, HttpClientProperties properties,
+                                                          MeterRegistry meterRegistry) {
+        return new SingleFlight<>(clientName, operation, properties.client(clientName).singleFlight(), meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.dgw.project.service.config;
+
+import feign.Logger;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per downstream client settings, keyed by Feign client name:
+ * <pre>
+ * project:
+ *   http:
+ *     transport: hc5
+ *     logging:
+ *       level: BASIC
+ *       sample-rate: 0.01
+ *       max-body-size: 2KB
+ *     clients:
+ *       operis-user-profile-service:
+ *         single-flight: true
+ *         connect-timeout: 2s
+ *         read-timeout: 10s
+ *         max-connections: 50
+ *         keep-alive: 30s
+ *         hedge:
+ *           enabled: true
+ *           budget: 0.1
+ *           min-delay: 50ms
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "project.http")
+public record HttpClientProperties(@DefaultValue("hc5") Transport transport,
+                                   @DefaultValue Logging logging,
+                                   @DefaultValue Map<String, Client> clients) {
+
+    public Client client(String name) {
+        return clients.getOrDefault(name, Client.DEFAULTS);
+    }
+
+    public enum Transport {
+        /**
+         * Feign default {@code HttpURLConnection} transport, no pooling.
+         */
+        DEFAULT,
+        /**
+         * Pooled Apache HttpClient 5 transport, one pool per client.
+         */
+        HC5
+    }
+
+    /**
+     * @param level        Feign logger level; bodies are only logged at {@code FULL}
+     * @param sampleRate   fraction of calls, between 0 and 1, whose request and response are logged
+     * @param maxBodySize  logged bodies are truncated to this size
+     */
+    public record Logging(@DefaultValue("BASIC") Logger.Level level,
+                          @DefaultValue("0.01") double sampleRate,
+                          @DefaultValue("2KB") DataSize maxBodySize) {
+    }
+
+    public record Client(@DefaultValue("true") boolean singleFlight,
+                         @DefaultValue("2s") Duration connectTimeout,
+                         @DefaultValue("10s") Duration readTimeout,
+                         @DefaultValue("50") int maxConnections,
+                         @DefaultValue("30s") Duration keepAlive,
+                         @DefaultValue Hedge hedge) {
+        static final Client DEFAULTS = new Client(true, Duration.ofSeconds(2), Duration.ofSeconds(10), 50, Duration.ofSeconds(30),
+                Hedge.DEFAULTS);
+    }
+
+    /**
+     * @param budget   maximum fraction of extra requests hedging may send
+     * @param minDelay lower bound of the hedge delay, which otherwise follows the observed p95 latency
+     */
+    public record Hedge(@DefaultValue("true") boolean enabled,
+                        @DefaultValue("0.1") double budget,
+                        @DefaultValue("50ms") Duration minDelay) {
+        static final Hedge DEFAULTS = new Hedge(true, 0.1, Duration.ofMillis(50));
+    }
+}
@@ -0,0 +1,35 @@
+package com.dgw.project.service.config;
+
+import com.dgw.jwt.GatewayIdentity;
+import com.dgw.jwt.JwtVerifier;
+import com.dgw.jwt.UserIdentityVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class JwtConfig {
+
+    @Bean
+    public JwtVerifier jwtVerifier(@Value("${code.secret}") String codeSecret,
+                                   @Value("${code.verified-token-cache-size:10000}") long verifiedTokenCacheSize) {
+        return new JwtVerifier(codeSecret, verifiedTokenCacheSize);
+    }
+
+    /**
+     * Required: without {@code code.internal-secret} the service does not start, rather than silently verifying
+     * every JWT again.
+     */
+    @Bean
+    public GatewayIdentity gatewayIdentity(@Value("${code.internal-secret}") String internalSecret,
+                                           @Value("${code.internal-identity-ttl:30s}") Duration internalIdentityTtl) {
+        return new GatewayIdentity(internalSecret, internalIdentityTtl);
+    }
+
+    @Bean
+    public UserIdentityVerifier userIdentityVerifier(JwtVerifier jwtVerifier, GatewayIdentity gatewayIdentity) {
+        return new UserIdentityVerifier(jwtVerifier, gatewayIdentity);
+    }
+}
@@ -5,6 +5,7 @@ import com.dgw.project.service.adapter.in.rest.infrastructure.feign.decoder.Glob
 import com.dgw.project.service.adapter.in.rest.infrastructure.logging.CustomFeignLogger;
 import feign.Logger;
 import feign.codec.ErrorDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,12 +18,12 @@ public class OpenFeignConfig {
     }
 
     @Bean
-    public Logger feignLogger() {
-        return new CustomFeignLogger();
+    public Logger feignLogger(HttpClientProperties properties, MeterRegistry meterRegistry) {
+        return new CustomFeignLogger(properties.logging(), meterRegistry);
     }
 
     @Bean
-    public Logger.Level feignLoggerLevel() {
-        return Logger.Level.FULL;
+    public Logger.Level feignLoggerLevel(HttpClientProperties properties) {
+        return properties.logging().level();
     }
 }
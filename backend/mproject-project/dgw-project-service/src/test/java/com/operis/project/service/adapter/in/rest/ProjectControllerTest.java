@@ -1,13 +1,13 @@
 package com.dgw.project.service.adapter.in.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dgw.jwt.UserIdentityVerifier;
 import com.dgw.project.core.project.model.*;
 import com.dgw.project.core.project.model.exception.IllegalProjectMemberException;
 import com.dgw.project.core.project.model.exception.ProjectNotFoundException;
 import com.dgw.project.core.project.port.in.ProjectUseCases;
 import com.dgw.project.core.task.model.TaskOwner;
 import com.dgw.project.core.task.model.TaskStatus;
-import com.dgw.project.service.adapter.in.rest.infrastructure.jwt.JWTTokenService;
 import com.dgw.project.service.adapter.in.rest.model.*;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -41,7 +41,7 @@ class ProjectControllerTest {
     private ProjectUseCases projectUseCases;
 
     @MockBean
-    private JWTTokenService jwtTokenService;
+    private UserIdentityVerifier userIdentityVerifier;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -55,7 +55,7 @@ class ProjectControllerTest {
                     "Create Operis Web App", "Create an IT product allowing to manage projects."
             );
 
-            when(jwtTokenService.extractUserEmail(anyString()))
+            when(userIdentityVerifier.verify(any(), anyString()))
                     .thenReturn("imad.test@gmail.com");
 
             when(projectUseCases.createProject(any(CreateProjectCommand.class)))
@@ -170,7 +170,7 @@ class ProjectControllerTest {
                     "Migrate to last Spring boot version.", "Desc", "imad.test@gmail.com"
             );
 
-            when(jwtTokenService.extractUserEmail(anyString()))
+            when(userIdentityVerifier.verify(any(), anyString()))
                     .thenReturn("imad.test@gmail.com");
 
             when(projectUseCases.addTaskToProject(any(AddTaskToProjectCommand.class)))
@@ -194,7 +194,7 @@ class ProjectControllerTest {
                     "Migrate to last Spring boot version.", "Desc", "imad.test@gmail.com"
             );
 
-            when(jwtTokenService.extractUserEmail(anyString())).thenReturn("imad.test@gmail.com");
+            when(userIdentityVerifier.verify(any(), anyString())).thenReturn("imad.test@gmail.com");
 
             when(projectUseCases.addTaskToProject(any(AddTaskToProjectCommand.class)))
                     .thenThrow(new ProjectNotFoundException("Project not found"));
@@ -217,7 +217,7 @@ class ProjectControllerTest {
                     "Migrate to last Spring boot version.", "Desc", "imad.test@gmail.com"
             );
 
-            when(jwtTokenService.extractUserEmail(anyString())).thenReturn("imad.test@gmail.com");
+            when(userIdentityVerifier.verify(any(), anyString())).thenReturn("imad.test@gmail.com");
 
             when(projectUseCases.addTaskToProject(any(AddTaskToProjectCommand.class)))
                     .thenThrow(new IllegalProjectMemberException("Task cannot be assigned to a non-member"));
@@ -241,7 +241,7 @@ class ProjectControllerTest {
                     "Migrate to last Spring boot version.", "Desc", "imad.test@gmail.com"
             );
 
-            when(jwtTokenService.extractUserEmail(anyString())).thenReturn("ronald.test@gmail.com");
+            when(userIdentityVerifier.verify(any(), anyString())).thenReturn("ronald.test@gmail.com");
 
             when(projectUseCases.addTaskToProject(any(AddTaskToProjectCommand.class)))
                     .thenThrow(new IllegalProjectMemberException("Task cannot be created by a non-member"));
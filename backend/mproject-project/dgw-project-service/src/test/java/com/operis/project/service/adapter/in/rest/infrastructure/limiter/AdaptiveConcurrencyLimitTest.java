@@ -0,0 +1,62 @@
+package com.dgw.project.service.adapter.in.rest.infrastructure.limiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRejectRequestsAboveLimit() {
+        // GIVEN
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 2, 1, 10, meterRegistry);
+
+        // WHEN
+        boolean first = limit.tryAcquire();
+        boolean second = limit.tryAcquire();
+        boolean third = limit.tryAcquire();
+
+        // THEN
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(1, meterRegistry.get("project.concurrency.rejected").counter().count());
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyRisesAndGrowItBackOnceHealthy() {
+        // GIVEN
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 20, 5, 200, meterRegistry);
+        runFullyLoaded(limit, 200, 10);
+
+        int healthyLimit = limit.getLimit();
+
+        // WHEN
+        runFullyLoaded(limit, 3, 100);
+        int degradedLimit = limit.getLimit();
+        runFullyLoaded(limit, 200, 10);
+
+        // THEN
+        assertTrue(degradedLimit < healthyLimit, "limit should shrink from %d, got %d".formatted(healthyLimit, degradedLimit));
+        assertTrue(limit.getLimit() > degradedLimit, "limit should recover from %d, got %d".formatted(degradedLimit, limit.getLimit()));
+    }
+
+    private static void runFullyLoaded(AdaptiveConcurrencyLimit limit, int requests, long latencyMillis) {
+        for (int i = 0; i < requests; i++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                limit.release(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+            }
+        }
+    }
+}
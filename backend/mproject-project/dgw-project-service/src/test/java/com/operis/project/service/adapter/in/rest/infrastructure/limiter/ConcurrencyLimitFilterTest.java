@@ -0,0 +1,108 @@
+package com.dgw.project.service.adapter.in.rest.infrastructure.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimit standardLimit = new AdaptiveConcurrencyLimit("standard", 1, 1, 1, meterRegistry);
+    private final AdaptiveConcurrencyLimit exportLimit = new AdaptiveConcurrencyLimit("export", 1, 1, 1, meterRegistry);
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(standardLimit, exportLimit,
+            PathPatternParser.defaultInstance.parse("/api/projects/{projectId}/export"), 1, new ObjectMapper());
+
+    @Test
+    void shouldRejectWithServiceUnavailableOnceTheLimitIsReached() throws Exception {
+        // GIVEN
+        assertTrue(standardLimit.tryAcquire());
+        AtomicBoolean called = new AtomicBoolean();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // WHEN
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/projects"), response, (req, res) -> called.set(true));
+
+        // THEN
+        assertFalse(called.get());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Service overloaded, retry later."));
+    }
+
+    @Test
+    void shouldReleaseThePermitWhenTheRequestFails() {
+        // GIVEN
+        FilterChain failingChain = (req, res) -> {
+            throw new ServletException("Handler failed");
+        };
+
+        // WHEN
+        assertThrows(ServletException.class, () -> filter.doFilter(new MockHttpServletRequest("GET", "/api/projects"),
+                new MockHttpServletResponse(), failingChain));
+
+        // THEN
+        assertEquals(0, inFlight("standard"));
+    }
+
+    @Test
+    void shouldKeepThePermitOfAnAsyncRequestUntilItCompletes() throws Exception {
+        // GIVEN
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.setAsyncSupported(true);
+
+        // WHEN
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        // THEN
+        assertEquals(1, inFlight("standard"));
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(0, inFlight("standard"));
+    }
+
+    @Test
+    void shouldLimitExportsSeparatelyFromTheOtherRequests() throws Exception {
+        // GIVEN
+        assertTrue(standardLimit.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // WHEN
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/projects/p1/export"), response,
+                (req, res) -> assertEquals(1, inFlight("export")));
+
+        // THEN
+        assertEquals(200, response.getStatus());
+        assertEquals(0, inFlight("export"));
+    }
+
+    @Test
+    void shouldNotTreatAnotherRouteEndingWithExportAsAnExport() throws Exception {
+        // GIVEN
+        assertTrue(standardLimit.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // WHEN
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/projects/p1/tasks/export"), response,
+                (req, res) -> {
+                });
+
+        // THEN
+        assertEquals(503, response.getStatus());
+    }
+
+    private int inFlight(String group) {
+        return (int) meterRegistry.get("project.concurrency.in-flight").tag("group", group).gauge().value();
+    }
+}
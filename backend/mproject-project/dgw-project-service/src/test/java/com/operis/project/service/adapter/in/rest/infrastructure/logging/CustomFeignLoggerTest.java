@@ -0,0 +1,56 @@
+package com.dgw.project.service.adapter.in.rest.infrastructure.logging;
+
+import com.dgw.project.service.config.HttpClientProperties;
+import feign.Logger;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CustomFeignLoggerTest {
+
+    private static final String CONFIG_KEY = "UserProfileClient#getUserProfile(String)";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CustomFeignLogger feignLogger = new CustomFeignLogger(
+            new HttpClientProperties.Logging(Logger.Level.BASIC, 0, DataSize.ofKilobytes(2)), meterRegistry);
+
+    @Test
+    void shouldRecordTheCallsOfAMethodAndStatusOnASingleTimer() throws IOException {
+        // WHEN
+        feignLogger.logAndRebufferResponse(CONFIG_KEY, Logger.Level.BASIC, response(200), 10);
+        feignLogger.logAndRebufferResponse(CONFIG_KEY, Logger.Level.BASIC, response(200), 20);
+        feignLogger.logAndRebufferResponse(CONFIG_KEY, Logger.Level.BASIC, response(404), 30);
+        feignLogger.logIOException(CONFIG_KEY, Logger.Level.BASIC, new IOException("Connection reset"), 40);
+
+        // THEN
+        Collection<Timer> timers = meterRegistry.get("project.http.client.requests").timers();
+        assertEquals(3, timers.size());
+        assertEquals(2, meterRegistry.get("project.http.client.requests")
+                .tags("method", CONFIG_KEY, "status", "200").timer().count());
+        assertEquals(1, meterRegistry.get("project.http.client.requests")
+                .tags("method", CONFIG_KEY, "status", "404").timer().count());
+        assertEquals(1, meterRegistry.get("project.http.client.requests")
+                .tags("method", CONFIG_KEY, "status", "IO_ERROR").timer().count());
+    }
+
+    private static Response response(int status) {
+        Request request = Request.create(Request.HttpMethod.GET, "http://user-profile/api/user-profiles",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Map.of())
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.dgw.project.service.adapter.out.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HedgingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldAnswerWithHedgeWhenFirstCallIsSlow() {
+        // GIVEN
+        Hedging<String> hedging = new Hedging<>("test-client", true, 0.1, Duration.ofMillis(20), executor, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // WHEN
+        String result = hedging.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(2_000);
+                return "slow replica";
+            }
+            return "fast replica";
+        });
+
+        // THEN
+        assertEquals("fast replica", result);
+        assertEquals(1, meterRegistry.get("project.http.hedging.hedges").counter().count());
+        assertEquals(1, meterRegistry.get("project.http.hedging.wins").counter().count());
+    }
+
+    @Test
+    void shouldExcludeInstanceOfPrimaryCallFromHedge() {
+        // GIVEN
+        Hedging<String> hedging = new Hedging<>("test-client", true, 0.1, Duration.ofMillis(20), executor, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // WHEN
+        String excluded = hedging.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                assertNull(Hedging.excludedInstance());
+                Hedging.recordInstance("10.0.0.1:8080");
+                sleep(2_000);
+                return "primary";
+            }
+            return Hedging.excludedInstance();
+        });
+
+        // THEN
+        assertEquals("10.0.0.1:8080", excluded);
+    }
+
+    @Test
+    void shouldStopHedgingOnceBudgetIsSpent() {
+        // GIVEN
+        Hedging<String> hedging = new Hedging<>("test-client", true, 0.0, Duration.ofMillis(1), executor, meterRegistry);
+
+        // WHEN
+        for (int i = 0; i < 20; i++) {
+            hedging.execute(() -> {
+                sleep(10);
+                return "answer";
+            });
+        }
+
+        // THEN
+        assertEquals(20, meterRegistry.get("project.http.hedging.calls").counter().count());
+        assertEquals(10, meterRegistry.get("project.http.hedging.hedges").counter().count());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dgw.project.service.adapter.out.http;
+
+import com.dgw.project.core.project.model.GetEntitlementsPayload;
+import com.dgw.project.core.project.model.UserSubscription;
+import com.dgw.project.service.adapter.out.http.UserSubscriptionFeignClient.EntitlementsRequest;
+import com.dgw.project.service.adapter.out.http.UserSubscriptionFeignClient.FeatureResponse;
+import com.dgw.project.service.adapter.out.http.UserSubscriptionFeignClient.SubscriptionResponse;
+import com.dgw.project.service.adapter.out.http.UserSubscriptionFeignClient.UserSubscriptionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HttpUserSubscriptionClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserSubscriptionFeignClient userSubscriptionFeignClient = mock(UserSubscriptionFeignClient.class);
+    private final HttpUserSubscriptionClient userSubscriptionClient = new HttpUserSubscriptionClient(
+            userSubscriptionFeignClient,
+            new SingleFlight<>("test-client", "get", true, meterRegistry),
+            new Hedging<>("test-client", false, 0.1, Duration.ofMillis(20), Runnable::run, meterRegistry),
+            new SingleFlight<>("test-client", "entitlements", true, meterRegistry));
+
+    @Test
+    void shouldMapTheFeatureOfTheRequestAndOfTheEntitlements() {
+        // GIVEN
+        when(userSubscriptionFeignClient.getEntitlements(
+                new EntitlementsRequest(Set.of("imad.test@gmail.com"), FeatureResponse.TASK_EXPORT)))
+                .thenReturn(List.of(new UserSubscriptionResponse("imad.test@gmail.com",
+                        new SubscriptionResponse("premium", "Premium", "Premium plan", List.of(FeatureResponse.TASK_EXPORT)))));
+
+        // WHEN
+        List<UserSubscription> entitlements = userSubscriptionClient.getEntitlements(
+                new GetEntitlementsPayload(Set.of("imad.test@gmail.com"), UserSubscription.Feature.EXPORT));
+
+        // THEN
+        assertEquals(List.of(new UserSubscription("imad.test@gmail.com", "Premium", Set.of(UserSubscription.Feature.EXPORT))),
+                entitlements);
+    }
+
+    @Test
+    void shouldLeaveOutTheUsersWithoutSubscription() {
+        // GIVEN
+        Set<String> emails = Set.of("imad.test@gmail.com", "ronald.test@gmail.com", "elie.test@gmail.com");
+        when(userSubscriptionFeignClient.getEntitlements(new EntitlementsRequest(emails, null)))
+                .thenReturn(Arrays.asList(
+                        new UserSubscriptionResponse("imad.test@gmail.com",
+                                new SubscriptionResponse("basic", "Basic", "Basic plan", List.of())),
+                        new UserSubscriptionResponse("ronald.test@gmail.com", null),
+                        null));
+
+        // WHEN
+        List<UserSubscription> entitlements = userSubscriptionClient.getEntitlements(new GetEntitlementsPayload(emails, null));
+
+        // THEN
+        assertEquals(List.of(new UserSubscription("imad.test@gmail.com", "Basic", Set.of())), entitlements);
+    }
+}
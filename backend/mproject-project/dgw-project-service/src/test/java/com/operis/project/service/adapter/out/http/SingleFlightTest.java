@@ -0,0 +1,87 @@
+package com.dgw.project.service.adapter.out.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldShareOneCallBetweenConcurrentIdenticalRequests() throws Exception {
+        // GIVEN
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test-client", "test-operation", true, meterRegistry);
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // WHEN
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("project-1", () -> {
+                downstreamCalls.incrementAndGet();
+                await(release);
+                return "result";
+            })));
+        }
+        while (meterRegistry.counter("project.http.single-flight.collapsed", "client", "test-client",
+                "operation", "test-operation").count() < callers - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // THEN
+        for (Future<String> result : results) {
+            assertEquals("result", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, downstreamCalls.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldPropagateFailureAndForgetKeyOnceCompleted() {
+        // GIVEN
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test-client", "test-operation", true, meterRegistry);
+
+        // WHEN / THEN
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("project-1", () -> {
+            throw new IllegalStateException("downstream failure");
+        }));
+        assertEquals("retried", singleFlight.execute("project-1", () -> "retried"));
+    }
+
+    @Test
+    void shouldCallDownstreamEveryTimeWhenDisabled() {
+        // GIVEN
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test-client", "test-operation", false, meterRegistry);
+        AtomicInteger downstreamCalls = new AtomicInteger();
+
+        // WHEN
+        singleFlight.execute("project-1", downstreamCalls::incrementAndGet);
+        singleFlight.execute("project-1", downstreamCalls::incrementAndGet);
+
+        // THEN
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
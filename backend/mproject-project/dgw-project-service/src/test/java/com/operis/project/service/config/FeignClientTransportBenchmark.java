@@ -0,0 +1,114 @@
+package com.dgw.project.service.config;
+
+import com.dgw.project.service.config.HttpClientProperties.Client;
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled Apache HttpClient 5 transport versus Feign's default {@code HttpURLConnection} transport, both calling a
+ * local stub of {@code POST /api/user-profiles/find}.
+ * Run from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.dgw.project.service.config.FeignClientTransportBenchmark} in dgw-project-service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+// Without TCP_NODELAY on the stub, its headers and body go out in two segments and delayed ACKs dominate every call
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class FeignClientTransportBenchmark {
+
+    private static final Client CLIENT = Client.DEFAULTS;
+    private static final byte[] RESPONSE = ("[{\"email\":\"imad.test@gmail.com\",\"firstName\":\"Imad\",\"lastName\":\"Test\"}]")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Request.Options options = new Request.Options();
+    private HttpServer stubServer;
+    private ExecutorService stubExecutor;
+    private CloseableHttpClient httpClient;
+    private feign.Client pooledClient;
+    private feign.Client defaultClient;
+    private String url;
+
+    @Setup
+    public void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubExecutor = Executors.newFixedThreadPool(16);
+        stubServer.setExecutor(stubExecutor);
+        stubServer.createContext("/api/user-profiles/find", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            exchange.getResponseBody().write(RESPONSE);
+            exchange.close();
+        });
+        stubServer.start();
+        url = "http://localhost:" + stubServer.getAddress().getPort() + "/api/user-profiles/find";
+
+        httpClient = FeignClientTransportConfig.httpClient(CLIENT, FeignClientTransportConfig.connectionManager(CLIENT));
+        pooledClient = new ApacheHttp5Client(httpClient);
+        defaultClient = new feign.Client.Default(null, null);
+    }
+
+    @Benchmark
+    public byte[] pooledHc5() throws IOException {
+        return call(pooledClient);
+    }
+
+    @Benchmark
+    public byte[] defaultHttpUrlConnection() throws IOException {
+        return call(defaultClient);
+    }
+
+    private byte[] call(feign.Client client) throws IOException {
+        Request request = Request.create(Request.HttpMethod.POST, url,
+                Map.<String, Collection<String>>of("Content-Type", List.of("application/json")),
+                "{\"emails\":[\"imad.test@gmail.com\"]}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8, null);
+        try (Response response = client.execute(request, options)) {
+            return response.body().asInputStream().readAllBytes();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        httpClient.close();
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FeignClientTransportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,121 @@
+package com.dgw.project.service.config;
+
+import com.dgw.loadbalancer.LatencyAwareLoadBalancer;
+import com.dgw.project.service.config.HttpClientProperties.Client;
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeignClientTransportConfigTest {
+
+    private static final Client CLIENT = new Client(true, Duration.ofSeconds(1), Duration.ofSeconds(2), 4, Duration.ofSeconds(30),
+            HttpClientProperties.Hedge.DEFAULTS);
+
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<String>> receivedHeaders = new ConcurrentHashMap<>();
+    private HttpServer stubServer;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.setExecutor(Executors.newFixedThreadPool(8));
+        stubServer.createContext("/api/user-profiles/find", exchange -> {
+            connections.add(exchange.getRemoteAddress());
+            receivedHeaders.putAll(exchange.getRequestHeaders());
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stubServer.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    void shouldReuseBoundedPoolOfConnections() throws Exception {
+        // GIVEN
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PoolingHttpClientConnectionManager connectionManager = FeignClientTransportConfig.connectionManager(CLIENT);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "stub").bindTo(meterRegistry);
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+
+        try (CloseableHttpClient httpClient = FeignClientTransportConfig.httpClient(CLIENT, connectionManager)) {
+            ApacheHttp5Client feignClient = new ApacheHttp5Client(httpClient);
+            String url = "http://localhost:" + stubServer.getAddress().getPort() + "/api/user-profiles/find";
+
+            // WHEN
+            IntStream.range(0, 200).forEach(i -> callers.submit(() -> call(feignClient, url)));
+            callers.shutdown();
+            assertTrue(callers.awaitTermination(30, TimeUnit.SECONDS));
+
+            // THEN
+            assertTrue(connections.size() <= CLIENT.maxConnections(),
+                    "expected at most %d connections but got %d".formatted(CLIENT.maxConnections(), connections.size()));
+            assertEquals(CLIENT.maxConnections(),
+                    meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+            assertNotNull(meterRegistry.find("httpcomponents.httpclient.pool.total.connections")
+                    .tags("httpclient", "stub", "state", "available").gauge());
+        }
+    }
+
+    @Test
+    void shouldNotSendTheExclusionHintDownstream() {
+        // GIVEN
+        feign.Client feignClient = FeignClientTransportConfig.recordingInstance(new feign.Client.Default(null, null));
+        String url = "http://localhost:" + stubServer.getAddress().getPort() + "/api/user-profiles/find";
+
+        // WHEN
+        call(feignClient, url, Map.<String, Collection<String>>of(LatencyAwareLoadBalancer.EXCLUDED_INSTANCE_HEADER, List.of("10.0.0.1:8080"),
+                "Content-Type", List.of("application/json")));
+
+        // THEN
+        assertTrue(receivedHeaders.containsKey("Content-type"));
+        assertFalse(receivedHeaders.keySet().stream()
+                .anyMatch(LatencyAwareLoadBalancer.EXCLUDED_INSTANCE_HEADER::equalsIgnoreCase));
+    }
+
+    private static void call(feign.Client feignClient, String url) {
+        call(feignClient, url, Map.of());
+    }
+
+    private static void call(feign.Client feignClient, String url, Map<String, Collection<String>> headers) {
+        Request request = Request.create(Request.HttpMethod.POST, url, headers,
+                "{}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8, null);
+        try (Response response = feignClient.execute(request, new Request.Options())) {
+            response.body().asInputStream().readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.dgw.project.core.project.model;
+
+import java.util.Set;
+
+/**
+ * @param feature when set, only the users entitled to it are returned
+ */
+public record GetEntitlementsPayload(Set<String> userEmails, UserSubscription.Feature feature) {
+}
@@ -1,18 +1,28 @@
 package com.dgw.project.core.project.model;
 
-import java.util.List;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
-public record UserSubscription(String userEmail, String name, List<Feature> features) {
+/**
+ * @param features unmodifiable {@link EnumSet}, checked in constant time
+ */
+public record UserSubscription(String userEmail, String name, Set<Feature> features) {
+
+    public UserSubscription {
+        EnumSet<Feature> featureSet = EnumSet.noneOf(Feature.class);
+        if (features != null) {
+            featureSet.addAll(features);
+        }
+        features = Collections.unmodifiableSet(featureSet);
+    }
 
     public boolean isExportAllowed() {
         return isExportAllowed(this);
     }
 
     public static boolean isExportAllowed(UserSubscription userSubscription) {
-        return userSubscription != null
-                && userSubscription.features != null
-                && !userSubscription.features.isEmpty()
-                && userSubscription.features.contains(Feature.EXPORT);
+        return userSubscription != null && userSubscription.features.contains(Feature.EXPORT);
     }
 
     public enum Feature {
@@ -1,8 +1,16 @@
 package com.dgw.project.core.project.port.out.http;
 
+import com.dgw.project.core.project.model.GetEntitlementsPayload;
 import com.dgw.project.core.project.model.GetUserSubscriptionPayload;
 import com.dgw.project.core.project.model.UserSubscription;
 
+import java.util.List;
+
 public interface UserSubscriptionClient {
     UserSubscription get(GetUserSubscriptionPayload payload);
+
+    /**
+     * Subscriptions of several users in one call, unsubscribed users being left out.
+     */
+    List<UserSubscription> getEntitlements(GetEntitlementsPayload payload);
 }
@@ -1,5 +1,50 @@
 package com.dgw.subscription.code.model;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Feature {
-    TASK_EXPORT
+    TASK_EXPORT(0);
+
+    /**
+     * Position of the feature in the stored bitmask, never to be reused by another feature.
+     */
+    private final int bit;
+
+    Feature(int bit) {
+        this.bit = bit;
+    }
+
+    public long mask() {
+        return 1L << bit;
+    }
+
+    /**
+     * Unmodifiable {@link EnumSet} of the features: a bit per feature, checked in constant time.
+     */
+    public static Set<Feature> setOf(Collection<Feature> features) {
+        EnumSet<Feature> set = EnumSet.noneOf(Feature.class);
+        set.addAll(features);
+        return Collections.unmodifiableSet(set);
+    }
+
+    public static long toMask(Set<Feature> features) {
+        long mask = 0;
+        for (Feature feature : features) {
+            mask |= feature.mask();
+        }
+        return mask;
+    }
+
+    public static Set<Feature> fromMask(long mask) {
+        EnumSet<Feature> features = EnumSet.noneOf(Feature.class);
+        for (Feature feature : values()) {
+            if ((mask & feature.mask()) != 0) {
+                features.add(feature);
+            }
+        }
+        return Collections.unmodifiableSet(features);
+    }
 }
@@ -2,21 +2,24 @@ package com.dgw.subscription.code.model;
 
 import com.dgw.subscription.code.model.utils.ValidatorUtils;
 
-import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 public record Subscription(
         String id,
         String name,
         String description,
-        List<Feature> features
+        Set<Feature> features
 ) {
 
-    public Subscription(String id, String name, String description, List<Feature> features) {
+    public Subscription(String id, String name, String description, Set<Feature> features) {
         this.id = ValidatorUtils.validateNonEmpty(id, "ID cannot be null");
         this.name = ValidatorUtils.validateNonEmpty(name, "Name cannot be null");
         this.description = ValidatorUtils.validateNonEmpty(description, "Description cannot be null");
-        this.features = Objects.requireNonNull(features, "The list of features cannot be null");
+        this.features = Feature.setOf(Objects.requireNonNull(features, "The set of features cannot be null"));
     }
 
+    public boolean hasFeature(Feature feature) {
+        return features.contains(feature);
+    }
 }
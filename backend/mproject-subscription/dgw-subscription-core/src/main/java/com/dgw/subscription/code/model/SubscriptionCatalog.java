@@ -0,0 +1,72 @@
+package com.dgw.subscription.code.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the subscription catalog, replaced as a whole when the catalog changes.
+ * <p>
+ * The version is derived from the content, so that every instance holding the same subscriptions gives the same one,
+ * e.g. as an {@code ETag}.
+ */
+public final class SubscriptionCatalog {
+
+    private static final int VERSION_BYTES = 8;
+
+    private final String version;
+    private final List<Subscription> subscriptions;
+    private final Map<String, Subscription> subscriptionsById;
+
+    private SubscriptionCatalog(String version, List<Subscription> subscriptions) {
+        this.version = version;
+        this.subscriptions = subscriptions;
+        this.subscriptionsById = subscriptions.stream()
+                .collect(Collectors.toUnmodifiableMap(Subscription::id, Function.identity()));
+    }
+
+    public static SubscriptionCatalog of(Collection<Subscription> subscriptions) {
+        List<Subscription> sorted = subscriptions.stream()
+                .sorted(Comparator.comparing(Subscription::id))
+                .toList();
+        return new SubscriptionCatalog(version(sorted), sorted);
+    }
+
+    public String version() {
+        return version;
+    }
+
+    /**
+     * Subscriptions by id.
+     */
+    public List<Subscription> subscriptions() {
+        return subscriptions;
+    }
+
+    public Optional<Subscription> findById(String id) {
+        return Optional.ofNullable(id).map(subscriptionsById::get);
+    }
+
+    private static String version(List<Subscription> subscriptions) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (Subscription subscription : subscriptions) {
+            String entry = subscription.id() + '\u0000' + subscription.name() + '\u0000' + subscription.description()
+                    + '\u0000' + Feature.toMask(subscription.features()) + '\n';
+            digest.update(entry.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, VERSION_BYTES);
+    }
+}
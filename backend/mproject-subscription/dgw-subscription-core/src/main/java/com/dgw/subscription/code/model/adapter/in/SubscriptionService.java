@@ -1,6 +1,8 @@
 package com.dgw.subscription.code.model.adapter.in;
 
+import com.dgw.subscription.code.model.Feature;
 import com.dgw.subscription.code.model.Subscription;
+import com.dgw.subscription.code.model.SubscriptionCatalog;
 import com.dgw.subscription.code.model.model.CreateSubscriptionCommand;
 import com.dgw.subscription.code.model.port.in.SubscriptionUseCases;
 import com.dgw.subscription.code.model.port.out.persistence.SubscriptionRepository;
@@ -20,7 +22,7 @@ public class SubscriptionService implements SubscriptionUseCases {
                 new Subscription(UUID.randomUUID().toString(),
                         command.name(),
                         command.description(),
-                        command.features()
+                        Feature.setOf(command.features())
                 )
         );
     }
@@ -29,4 +31,9 @@ public class SubscriptionService implements SubscriptionUseCases {
     public List<Subscription> getAllSubscriptions() {
         return subscriptionRepository.findAll();
     }
+
+    @Override
+    public SubscriptionCatalog getCatalog() {
+        return subscriptionRepository.catalog();
+    }
 }
@@ -2,6 +2,7 @@ package com.dgw.subscription.code.model.adapter.in;
 
 import com.dgw.subscription.code.model.Subscription;
 import com.dgw.subscription.code.model.UserSubscription;
+import com.dgw.subscription.code.model.model.GetEntitlementsCommand;
 import com.dgw.subscription.code.model.model.GetUserSubscriptionsCommand;
 import com.dgw.subscription.code.model.model.SubscribeUserCommand;
 import com.dgw.subscription.code.model.port.in.UserSubscriptionUseCases;
@@ -9,6 +10,8 @@ import com.dgw.subscription.code.model.port.out.persistence.SubscriptionReposito
 import com.dgw.subscription.code.model.port.out.persistence.UserSubscriptionRepository;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 public class UserSubscriptionService implements UserSubscriptionUseCases {
 
@@ -31,4 +34,15 @@ public class UserSubscriptionService implements UserSubscriptionUseCases {
     public UserSubscription get(GetUserSubscriptionsCommand command) {
         return userSubscriptionRepository.find(command.userEmail()).orElse(null);
     }
+
+    @Override
+    public List<UserSubscription> getEntitlements(GetEntitlementsCommand command) {
+        List<UserSubscription> userSubscriptions = userSubscriptionRepository.findAll(command.userEmails());
+        if (command.feature() == null) {
+            return userSubscriptions;
+        }
+        return userSubscriptions.stream()
+                .filter(userSubscription -> userSubscription.subscription().hasFeature(command.feature()))
+                .toList();
+    }
 }
@@ -0,0 +1,28 @@
+package com.dgw.subscription.code.model.model;
+
+import com.dgw.subscription.code.model.Feature;
+
+import java.util.Set;
+
+/**
+ * @param feature when set, only the users whose subscription includes it are returned
+ */
+public record GetEntitlementsCommand(Set<String> userEmails, Feature feature) {
+
+    public static final int MAX_USER_EMAILS = 1_000;
+
+    public GetEntitlementsCommand {
+        if (userEmails == null || userEmails.isEmpty()) {
+            throw new IllegalArgumentException("User emails must not be null or empty");
+        }
+
+        if (userEmails.size() > MAX_USER_EMAILS) {
+            throw new IllegalArgumentException("At most " + MAX_USER_EMAILS + " user emails can be checked at once");
+        }
+
+        if (userEmails.stream().anyMatch(userEmail -> userEmail == null || userEmail.isBlank())) {
+            throw new IllegalArgumentException("User emails must not be null or blank");
+        }
+        userEmails = Set.copyOf(userEmails);
+    }
+}
@@ -1,6 +1,7 @@
 package com.dgw.subscription.code.model.port.in;
 
 import com.dgw.subscription.code.model.Subscription;
+import com.dgw.subscription.code.model.SubscriptionCatalog;
 import com.dgw.subscription.code.model.model.CreateSubscriptionCommand;
 
 import java.util.List;
@@ -10,4 +11,6 @@ public interface SubscriptionUseCases {
     Subscription addSubscription(CreateSubscriptionCommand createSubscriptionCommand);
 
     List<Subscription> getAllSubscriptions();
+
+    SubscriptionCatalog getCatalog();
 }
@@ -1,9 +1,12 @@
 package com.dgw.subscription.code.model.port.in;
 
 import com.dgw.subscription.code.model.UserSubscription;
+import com.dgw.subscription.code.model.model.GetEntitlementsCommand;
 import com.dgw.subscription.code.model.model.GetUserSubscriptionsCommand;
 import com.dgw.subscription.code.model.model.SubscribeUserCommand;
 
+import java.util.List;
+
 public interface UserSubscriptionUseCases {
 
     void subscribeUser(SubscribeUserCommand subscribeUserCommand);
@@ -11,4 +14,9 @@ public interface UserSubscriptionUseCases {
     void unsubscribe(String userEmail);
 
     UserSubscription get(GetUserSubscriptionsCommand command);
+
+    /**
+     * Subscriptions of the given users, unsubscribed users being left out.
+     */
+    List<UserSubscription> getEntitlements(GetEntitlementsCommand command);
 }
@@ -1,6 +1,7 @@
 package com.dgw.subscription.code.model.port.out.persistence;
 
 import com.dgw.subscription.code.model.Subscription;
+import com.dgw.subscription.code.model.SubscriptionCatalog;
 
 import java.util.List;
 
@@ -11,4 +12,9 @@ public interface SubscriptionRepository {
     Subscription findById(String subscriptionId);
 
     List<Subscription> findAll();
+
+    /**
+     * Current snapshot of the catalog, without a database read.
+     */
+    SubscriptionCatalog catalog();
 }
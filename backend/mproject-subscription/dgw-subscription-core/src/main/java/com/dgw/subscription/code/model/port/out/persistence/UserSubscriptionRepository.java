@@ -2,6 +2,8 @@ package com.dgw.subscription.code.model.port.out.persistence;
 
 import com.dgw.subscription.code.model.UserSubscription;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserSubscriptionRepository {
@@ -11,4 +13,6 @@ public interface UserSubscriptionRepository {
     void delete(String userEmail);
 
     Optional<UserSubscription> find(String userEmail);
+
+    List<UserSubscription> findAll(Collection<String> userEmails);
 }
@@ -0,0 +1,52 @@
+package com.dgw.subscription.code.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeatureTest {
+
+    @Test
+    void shouldEncodeEachFeatureAsItsOwnBit() {
+        // When / Then
+        assertThat(Feature.toMask(Set.of())).isZero();
+        assertThat(Feature.toMask(Set.of(Feature.TASK_EXPORT))).isEqualTo(1L);
+        assertThat(Feature.toMask(EnumSet.allOf(Feature.class))).isEqualTo((1L << Feature.values().length) - 1);
+    }
+
+    @Test
+    void shouldDecodeTheMaskItEncoded() {
+        // Given
+        long mask = Feature.toMask(EnumSet.allOf(Feature.class));
+
+        // When
+        Set<Feature> features = Feature.fromMask(mask);
+
+        // Then
+        assertThat(features).containsExactlyInAnyOrder(Feature.values());
+        assertThat(Feature.fromMask(0)).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreTheBitsOfUnknownFeatures() {
+        // When
+        Set<Feature> features = Feature.fromMask(Feature.TASK_EXPORT.mask() | 1L << 62);
+
+        // Then
+        assertThat(features).containsExactly(Feature.TASK_EXPORT);
+    }
+
+    @Test
+    void shouldReturnAnUnmodifiableSet() {
+        // Given
+        Set<Feature> features = Feature.setOf(Set.of(Feature.TASK_EXPORT));
+
+        // When / Then
+        assertThat(features).containsExactly(Feature.TASK_EXPORT);
+        assertThatThrownBy(features::clear).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.dgw.subscription.code.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionCatalogTest {
+
+    private static final Subscription BASIC = new Subscription("basic", "Basic", "Basic plan", Set.of());
+    private static final Subscription PREMIUM = new Subscription("premium", "Premium", "Premium plan",
+            Set.of(Feature.TASK_EXPORT));
+
+    @Test
+    void shouldDeriveTheSameVersionWhateverTheOrderOfTheSubscriptions() {
+        // Given
+        SubscriptionCatalog catalog = SubscriptionCatalog.of(List.of(BASIC, PREMIUM));
+
+        // When
+        SubscriptionCatalog reordered = SubscriptionCatalog.of(List.of(PREMIUM, BASIC));
+
+        // Then
+        assertThat(reordered.version()).isEqualTo(catalog.version());
+        assertThat(reordered.subscriptions()).containsExactly(BASIC, PREMIUM);
+    }
+
+    @Test
+    void shouldDeriveAnotherVersionWhenASubscriptionChanges() {
+        // Given
+        SubscriptionCatalog catalog = SubscriptionCatalog.of(List.of(BASIC, PREMIUM));
+
+        // When
+        SubscriptionCatalog changed = SubscriptionCatalog.of(List.of(BASIC,
+                new Subscription("premium", "Premium", "Premium plan", Set.of())));
+
+        // Then
+        assertThat(changed.version()).isNotEqualTo(catalog.version());
+    }
+
+    @Test
+    void shouldFindASubscriptionById() {
+        // Given
+        SubscriptionCatalog catalog = SubscriptionCatalog.of(List.of(BASIC, PREMIUM));
+
+        // When / Then
+        assertThat(catalog.findById("premium")).contains(PREMIUM);
+        assertThat(catalog.findById("enterprise")).isEmpty();
+        assertThat(catalog.findById(null)).isEmpty();
+    }
+}
@@ -2,8 +2,10 @@ package com.dgw.operis.subscription.service.adapter.in.rest;
 
 import com.dgw.operis.subscription.service.adapter.in.rest.model.CreateSubscriptionPayloadRecord;
 import com.dgw.operis.subscription.service.adapter.in.rest.model.SubscriptionDto;
+import com.dgw.subscription.code.model.SubscriptionCatalog;
 import com.dgw.subscription.code.model.port.in.SubscriptionUseCases;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,10 +25,18 @@ public class SubscriptionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    /**
+     * The catalog, with the version of its snapshot as {@code ETag}: a client sending it back in
+     * {@code If-None-Match} gets a {@code 304} until the catalog changes.
+     */
     @GetMapping
-    public List<SubscriptionDto> getAllSubscriptions() {
-        return subscriptionUseCases.getAllSubscriptions().stream()
-                .map(SubscriptionDto::from)
-                .toList();
+    public ResponseEntity<List<SubscriptionDto>> getAllSubscriptions() {
+        SubscriptionCatalog catalog = subscriptionUseCases.getCatalog();
+        return ResponseEntity.ok()
+                .eTag(catalog.version())
+                .cacheControl(CacheControl.noCache())
+                .body(catalog.subscriptions().stream()
+                        .map(SubscriptionDto::from)
+                        .toList());
     }
 }
@@ -1,7 +1,9 @@
 package com.dgw.operis.subscription.service.adapter.in.rest;
 
-import com.dgw.operis.subscription.service.adapter.in.rest.helper.JWTTokenService;
+import com.dgw.jwt.GatewayIdentity;
+import com.dgw.jwt.UserIdentityVerifier;
 import com.dgw.operis.subscription.service.adapter.in.rest.model.CreateUserSubscriptionPayloadRecord;
+import com.dgw.operis.subscription.service.adapter.in.rest.model.GetEntitlementsPayload;
 import com.dgw.operis.subscription.service.adapter.in.rest.model.GetUserSubscriptionPayload;
 import com.dgw.operis.subscription.service.adapter.in.rest.model.UserSubscriptionDto;
 import com.dgw.subscription.code.model.UserSubscription;
@@ -11,25 +13,29 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/user-subscriptions")
 @RequiredArgsConstructor
 public class UserSubscriptionController {
 
     private final UserSubscriptionUseCases userSubscriptionUseCases;
-    private final JWTTokenService jwtTokenService;
+    private final UserIdentityVerifier userIdentityVerifier;
 
     @PostMapping
     public ResponseEntity<Void> subscribe(@RequestBody CreateUserSubscriptionPayloadRecord payload,
+                                          @RequestHeader(value = GatewayIdentity.HEADER, required = false) String gatewayIdentityHeader,
                                           @RequestHeader("Authorization") String authorizationHeader) {
-        String connectedUserEmail = jwtTokenService.extractUserEmail(authorizationHeader);
+        String connectedUserEmail = userIdentityVerifier.verify(gatewayIdentityHeader, authorizationHeader);
         userSubscriptionUseCases.subscribeUser(payload.toCommand(connectedUserEmail));
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
     @DeleteMapping("/unsubscribe")
-    public ResponseEntity<Void> delete(@RequestHeader("Authorization") String authorizationHeader) {
-        String connectedUserEmail = jwtTokenService.extractUserEmail(authorizationHeader);
+    public ResponseEntity<Void> delete(@RequestHeader(value = GatewayIdentity.HEADER, required = false) String gatewayIdentityHeader,
+                                       @RequestHeader("Authorization") String authorizationHeader) {
+        String connectedUserEmail = userIdentityVerifier.verify(gatewayIdentityHeader, authorizationHeader);
         userSubscriptionUseCases.unsubscribe(connectedUserEmail);
         return ResponseEntity.status(HttpStatus.OK).build();
     }
@@ -40,4 +46,12 @@ public class UserSubscriptionController {
         UserSubscriptionDto result = UserSubscriptionDto.from(userSubscription);
         return ResponseEntity.ok(result);
     }
+
+    @PostMapping("/entitlements")
+    public ResponseEntity<List<UserSubscriptionDto>> getEntitlements(@RequestBody GetEntitlementsPayload payload) {
+        List<UserSubscriptionDto> result = userSubscriptionUseCases.getEntitlements(payload.toCommand()).stream()
+                .map(UserSubscriptionDto::from)
+                .toList();
+        return ResponseEntity.ok(result);
+    }
 }
@@ -0,0 +1,42 @@
+package com.dgw.operis.subscription.service.adapter.in.rest.handler;
+
+import com.dgw.operis.subscription.service.adapter.in.rest.model.SubscriptionApiError;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+@RestControllerAdvice
+@Slf4j
+public class SubscriptionExceptionHandler extends ResponseEntityExceptionHandler {
+
+    /**
+     * Rejected by the validation of the commands and of the domain, e.g. too many emails at once.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
+        var body = new SubscriptionApiError(HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.name(), ex.getMessage());
+        return handleExceptionInternal(ex, body, new HttpHeaders(), HttpStatus.BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Object> handleGenericException(Exception ex, WebRequest request) {
+        return handleExceptionInternal(ex, null, new HttpHeaders(), HttpStatusCode.valueOf(HttpStatus.INTERNAL_SERVER_ERROR.value()), request);
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex, Object body, HttpHeaders headers, HttpStatusCode statusCode, WebRequest request) {
+        log.error("An error occurred while processing the request.", ex);
+
+        if (!(body instanceof SubscriptionApiError)) {
+            body = new SubscriptionApiError(statusCode.value(), HttpStatus.valueOf(statusCode.value()).name(), ex.getMessage());
+        }
+
+        return super.handleExceptionInternal(ex, body, headers, statusCode, request);
+    }
+}
@@ -0,0 +1,12 @@
+package com.dgw.operis.subscription.service.adapter.in.rest.model;
+
+import com.dgw.subscription.code.model.Feature;
+import com.dgw.subscription.code.model.model.GetEntitlementsCommand;
+
+import java.util.Set;
+
+public record GetEntitlementsPayload(Set<String> userEmails, Feature feature) {
+    public GetEntitlementsCommand toCommand() {
+        return new GetEntitlementsCommand(userEmails, feature);
+    }
+}
@@ -1,36 +1,111 @@
 package com.dgw.operis.subscription.service.adapter.out.persistence.Subscription;
 
 import com.dgw.subscription.code.model.Subscription;
+import com.dgw.subscription.code.model.SubscriptionCatalog;
 import com.dgw.subscription.code.model.port.out.persistence.SubscriptionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Serves the catalog, a handful of rarely changing rows, from an in-memory {@link SubscriptionCatalog} snapshot.
+ * The snapshot is reloaded and swapped when a subscription is saved, and every {@link #CATALOG_REFRESH_PERIOD} for
+ * the subscriptions added through another instance.
+ */
 @Repository
 @RequiredArgsConstructor
+@Slf4j
 public class JPASubscriptionRepository implements SubscriptionRepository {
+    private static final Duration CATALOG_REFRESH_PERIOD = Duration.ofMinutes(1);
 
     private final JPASubscriptionSpringDataRepository jpaSubscriptionSpringDataRepository;
+    private final ScheduledExecutorService catalogRefreshScheduler = Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("subscription-catalog-refresh-"));
+    private volatile SubscriptionCatalog catalog;
+
+    /**
+     * Encodes as a bitmask the features of the subscriptions written before it existed, the catalog being small enough
+     * to be migrated through the entities, then loads the catalog before the service takes requests.
+     */
+    @PostConstruct
+    void backfillFeatureMasks() {
+        List<SubscriptionEntity> subscriptions = jpaSubscriptionSpringDataRepository.findByFeaturesIsNull();
+        if (!subscriptions.isEmpty()) {
+            subscriptions.forEach(SubscriptionEntity::backfillFeatures);
+            jpaSubscriptionSpringDataRepository.saveAll(subscriptions);
+            log.info("Encoded the features of {} subscriptions as a bitmask", subscriptions.size());
+        }
+
+        refreshCatalog();
+        catalogRefreshScheduler.scheduleWithFixedDelay(this::refreshCatalogQuietly,
+                CATALOG_REFRESH_PERIOD.toSeconds(), CATALOG_REFRESH_PERIOD.toSeconds(), TimeUnit.SECONDS);
+    }
 
     @Override
     public Subscription save(Subscription subscription) {
         SubscriptionEntity subscriptionEntity = SubscriptionEntity.from(subscription);
         jpaSubscriptionSpringDataRepository.save(subscriptionEntity);
+        refreshCatalog();
         return subscription;
     }
 
+    /**
+     * From the snapshot, reloaded first when the subscription is not in it: it may have been added through another
+     * instance since the last refresh.
+     */
     @Override
     public Subscription findById(String subscriptionId) {
-        return jpaSubscriptionSpringDataRepository.findById(subscriptionId)
-                .map(SubscriptionEntity::toDomain)
+        return catalog.findById(subscriptionId)
+                .or(() -> refreshCatalog().findById(subscriptionId))
                 .orElseThrow(() -> new RuntimeException("Subscription not found"));
     }
 
     @Override
     public List<Subscription> findAll() {
-        return jpaSubscriptionSpringDataRepository.findAll()
-                .stream().map(SubscriptionEntity::toDomain)
-                .toList();
+        return catalog.subscriptions();
+    }
+
+    @Override
+    public SubscriptionCatalog catalog() {
+        return catalog;
+    }
+
+    @PreDestroy
+    void shutdownCatalogRefresh() {
+        catalogRefreshScheduler.shutdownNow();
+    }
+
+    /**
+     * Reloads the catalog and swaps the snapshot if it changed. Synchronized, so that a slower reload does not replace
+     * the snapshot of a later one.
+     */
+    private synchronized SubscriptionCatalog refreshCatalog() {
+        SubscriptionCatalog reloaded = SubscriptionCatalog.of(jpaSubscriptionSpringDataRepository.findAll().stream()
+                .map(SubscriptionEntity::toDomain)
+                .toList());
+        if (catalog == null || !catalog.version().equals(reloaded.version())) {
+            log.info("Loaded the subscription catalog: {} subscriptions, version {}", reloaded.subscriptions().size(),
+                    reloaded.version());
+            catalog = reloaded;
+        }
+        return catalog;
+    }
+
+    private void refreshCatalogQuietly() {
+        try {
+            refreshCatalog();
+        } catch (RuntimeException e) {
+            // Kept scheduled: the current snapshot is served until the next refresh succeeds
+            log.warn("Failed to refresh the subscription catalog", e);
+        }
     }
 }
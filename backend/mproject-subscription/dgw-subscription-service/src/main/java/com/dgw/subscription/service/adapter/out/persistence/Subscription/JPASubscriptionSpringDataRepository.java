@@ -3,7 +3,10 @@ package com.dgw.operis.subscription.service.adapter.out.persistence.Subscription
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface JPASubscriptionSpringDataRepository extends JpaRepository<SubscriptionEntity, String> {
 
+    List<SubscriptionEntity> findByFeaturesIsNull();
 }
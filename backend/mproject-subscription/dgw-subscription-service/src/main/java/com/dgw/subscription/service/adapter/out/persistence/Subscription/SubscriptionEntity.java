@@ -1,7 +1,7 @@
 package com.dgw.operis.subscription.service.adapter.out.persistence.Subscription;
 
 import com.dgw.operis.subscription.service.adapter.out.persistence.UserSubscription.UserSubscriptionEntity;
-import com.dgw.operis.subscription.service.adapter.out.persistence.converter.FeatureListConverter;
+import com.dgw.operis.subscription.service.adapter.out.persistence.converter.FeatureSetConverter;
 import com.dgw.subscription.code.model.Feature;
 import com.dgw.subscription.code.model.Subscription;
 import jakarta.persistence.*;
@@ -10,7 +10,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Data
 @Entity
@@ -19,6 +22,8 @@ import java.util.List;
 @Table(name = "subscription")
 public class SubscriptionEntity {
 
+    private static final String LEGACY_SEPARATOR = ",";
+
     @Id
     private String id;
 
@@ -28,9 +33,20 @@ public class SubscriptionEntity {
     @Column(nullable = false)
     private String description;
 
-    @Convert(converter = FeatureListConverter.class)
-    @Column(nullable = false)
-    private List<Feature> features;
+    /**
+     * Bitmask of the features. Nullable in the schema so that the column can be added to an existing table; filled on
+     * every write and backfilled at startup from {@link #legacyFeatures}.
+     */
+    @Convert(converter = FeatureSetConverter.class)
+    @Column(name = "feature_mask")
+    private Set<Feature> features;
+
+    /**
+     * Previous column of the features, their comma-separated names: read only by the backfill, still written for the
+     * instances not upgraded yet. To be dropped once every instance reads {@link #features}.
+     */
+    @Column(name = "features", nullable = false)
+    private String legacyFeatures;
 
     @OneToMany(mappedBy = "subscription")
     private List<UserSubscriptionEntity> userSubscriptions = new ArrayList<>();
@@ -41,17 +57,37 @@ public class SubscriptionEntity {
                 subscription.name(),
                 subscription.description(),
                 subscription.features(),
+                subscription.features().stream()
+                        .map(Enum::name)
+                        .collect(Collectors.joining(LEGACY_SEPARATOR)),
                 null
         );
     }
 
+    /**
+     * Falls back to {@link #legacyFeatures} for a row without bitmask: during the upgrade, the instances not upgraded
+     * yet keep writing rows without it.
+     */
     public Subscription toDomain() {
         return new Subscription(
                 this.id,
                 this.name,
                 this.description,
-                this.features
+                this.features != null ? this.features : parseLegacyFeatures()
         );
     }
 
+    /**
+     * Fills {@link #features} from {@link #legacyFeatures}, for a row written before the bitmask.
+     */
+    void backfillFeatures() {
+        features = parseLegacyFeatures();
+    }
+
+    private Set<Feature> parseLegacyFeatures() {
+        return legacyFeatures == null || legacyFeatures.isEmpty() ? Set.of() : Feature.setOf(
+                Arrays.stream(legacyFeatures.split(LEGACY_SEPARATOR))
+                        .map(Feature::valueOf)
+                        .toList());
+    }
 }
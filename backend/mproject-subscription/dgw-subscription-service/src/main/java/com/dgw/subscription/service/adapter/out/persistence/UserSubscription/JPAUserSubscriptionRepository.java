@@ -1,11 +1,14 @@
 package com.dgw.operis.subscription.service.adapter.out.persistence.UserSubscription;
 
 import com.dgw.subscription.code.model.UserSubscription;
+import com.dgw.subscription.code.model.port.out.persistence.SubscriptionRepository;
 import com.dgw.subscription.code.model.port.out.persistence.UserSubscriptionRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,6 +16,7 @@ import java.util.Optional;
 public class JPAUserSubscriptionRepository implements UserSubscriptionRepository {
 
     private final JPAUserSubscriptionSpringDataRepository jpaUserSubscriptionSpringDataRepository;
+    private final SubscriptionRepository subscriptionRepository;
 
     @Override
     @Transactional
@@ -35,6 +39,16 @@ public class JPAUserSubscriptionRepository implements UserSubscriptionRepository
     @Override
     public Optional<UserSubscription> find(String userEmail) {
         return jpaUserSubscriptionSpringDataRepository.findByUserEmail(userEmail)
-                .map(UserSubscriptionEntity::toDomain);
+                .map(entity -> entity.toDomain(subscriptionRepository.findById(entity.getSubscriptionId())));
+    }
+
+    /**
+     * A single lookup on the primary key, the subscriptions being resolved through the in-memory catalog.
+     */
+    @Override
+    public List<UserSubscription> findAll(Collection<String> userEmails) {
+        return jpaUserSubscriptionSpringDataRepository.findAllById(userEmails).stream()
+                .map(entity -> entity.toDomain(subscriptionRepository.findById(entity.getSubscriptionId())))
+                .toList();
     }
 }
@@ -1,6 +1,7 @@
 package com.dgw.operis.subscription.service.adapter.out.persistence.UserSubscription;
 
 import com.dgw.operis.subscription.service.adapter.out.persistence.Subscription.SubscriptionEntity;
+import com.dgw.subscription.code.model.Subscription;
 import com.dgw.subscription.code.model.UserSubscription;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -18,18 +19,25 @@ public class UserSubscriptionEntity {
     @Column(name = "user_email", nullable = false, unique = true)
     private String userEmail;
 
-    @ManyToOne
-    @JoinColumn(name = "subscription_id", nullable = false)
+    /**
+     * Resolved through the in-memory catalog: the association below is never loaded, only kept for the foreign key.
+     */
+    @Column(name = "subscription_id", nullable = false)
+    private String subscriptionId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subscription_id", nullable = false, insertable = false, updatable = false)
     private SubscriptionEntity subscription;
 
     public static UserSubscriptionEntity from(UserSubscription userSubscription) {
         return new UserSubscriptionEntity(
                 userSubscription.userEMail(),
-                SubscriptionEntity.from(userSubscription.subscription())
+                userSubscription.subscription().id(),
+                null
         );
     }
 
-    public UserSubscription toDomain() {
-        return new UserSubscription(userEmail, subscription.toDomain());
+    public UserSubscription toDomain(Subscription subscription) {
+        return new UserSubscription(userEmail, subscription);
     }
 }
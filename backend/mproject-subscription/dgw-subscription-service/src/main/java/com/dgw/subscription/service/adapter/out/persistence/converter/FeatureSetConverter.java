@@ -0,0 +1,26 @@
+package com.dgw.operis.subscription.service.adapter.out.persistence.converter;
+
+import com.dgw.subscription.code.model.Feature;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Set;
+
+/**
+ * Stores the features as the bitmask of their {@link Feature#mask()}: no parsing on load, and an
+ * {@link java.util.EnumSet} whose checks are a bit test.
+ */
+@Converter
+public class FeatureSetConverter implements AttributeConverter<Set<Feature>, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Set<Feature> features) {
+        return features == null ? null : Feature.toMask(features);
+    }
+
+    @Override
+    public Set<Feature> convertToEntityAttribute(Long mask) {
+        // Not backfilled yet
+        return mask == null ? null : Feature.fromMask(mask);
+    }
+}
@@ -0,0 +1,84 @@
+package com.dgw.operis.subscription.service.adapter.in.rest;
+
+import com.dgw.subscription.code.model.Feature;
+import com.dgw.subscription.code.model.Subscription;
+import com.dgw.subscription.code.model.SubscriptionCatalog;
+import com.dgw.subscription.code.model.port.in.SubscriptionUseCases;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SubscriptionController.class)
+@ActiveProfiles("test")
+class SubscriptionControllerTest {
+
+    private static final SubscriptionCatalog CATALOG = SubscriptionCatalog.of(List.of(
+            new Subscription("premium", "Premium", "Premium plan", Set.of(Feature.TASK_EXPORT)),
+            new Subscription("basic", "Basic", "Basic plan", Set.of())));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SubscriptionUseCases subscriptionUseCases;
+
+    @Nested
+    class GetAll {
+        @Test
+        void shouldReturnTheCatalogWithItsVersionAsETag() throws Exception {
+            // Given
+            when(subscriptionUseCases.getCatalog()).thenReturn(CATALOG);
+
+            // When / Then
+            mockMvc.perform(get("/api/subscriptions"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + CATALOG.version() + "\""))
+                    .andExpect(header().string("Cache-Control", "no-cache"))
+                    .andExpect(content().json("""
+                            [
+                              {"id": "basic", "name": "Basic", "description": "Basic plan", "features": []},
+                              {"id": "premium", "name": "Premium", "description": "Premium plan",
+                               "features": ["TASK_EXPORT"]}
+                            ]
+                            """, true));
+        }
+
+        @Test
+        void shouldReturnNotModifiedWhenTheClientHasTheCurrentVersion() throws Exception {
+            // Given
+            when(subscriptionUseCases.getCatalog()).thenReturn(CATALOG);
+
+            // When / Then
+            mockMvc.perform(get("/api/subscriptions")
+                            .header("If-None-Match", "\"" + CATALOG.version() + "\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"" + CATALOG.version() + "\""))
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        void shouldReturnTheCatalogWhenTheClientHasAnOlderVersion() throws Exception {
+            // Given
+            when(subscriptionUseCases.getCatalog()).thenReturn(CATALOG);
+
+            // When / Then
+            mockMvc.perform(get("/api/subscriptions")
+                            .header("If-None-Match", "\"0000000000000000\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + CATALOG.version() + "\""));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.dgw.operis.subscription.service.adapter.in.rest;
+
+import com.dgw.jwt.UserIdentityVerifier;
+import com.dgw.operis.subscription.service.config.SubscriptionAppConfig;
+import com.dgw.subscription.code.model.Feature;
+import com.dgw.subscription.code.model.Subscription;
+import com.dgw.subscription.code.model.UserSubscription;
+import com.dgw.subscription.code.model.port.out.persistence.SubscriptionRepository;
+import com.dgw.subscription.code.model.port.out.persistence.UserSubscriptionRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UserSubscriptionController.class)
+@Import(SubscriptionAppConfig.class)
+@ActiveProfiles("test")
+class UserSubscriptionControllerTest {
+
+    private static final Subscription BASIC = new Subscription("basic", "Basic", "Basic plan", Set.of());
+    private static final Subscription PREMIUM = new Subscription("premium", "Premium", "Premium plan",
+            Set.of(Feature.TASK_EXPORT));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserSubscriptionRepository userSubscriptionRepository;
+
+    @MockBean
+    private SubscriptionRepository subscriptionRepository;
+
+    @MockBean
+    private UserIdentityVerifier userIdentityVerifier;
+
+    @Nested
+    class GetEntitlements {
+        @Test
+        void shouldReturnOnlyTheUsersWhoseSubscriptionHasTheFeature() throws Exception {
+            // Given
+            when(userSubscriptionRepository.findAll(Set.of("imad@mail.com", "ronald@mail.com")))
+                    .thenReturn(List.of(new UserSubscription("imad@mail.com", PREMIUM),
+                            new UserSubscription("ronald@mail.com", BASIC)));
+
+            // When / Then
+            mockMvc.perform(post("/api/user-subscriptions/entitlements")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"userEmails": ["imad@mail.com", "ronald@mail.com"], "feature": "TASK_EXPORT"}
+                                    """))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("""
+                            [
+                              {"userEmail": "imad@mail.com",
+                               "subscription": {"id": "premium", "name": "Premium", "description": "Premium plan",
+                                                "features": ["TASK_EXPORT"]}}
+                            ]
+                            """, true));
+        }
+
+        @Test
+        void shouldLeaveOutTheUsersWithoutSubscription() throws Exception {
+            // Given: ronald@mail.com has no subscription
+            when(userSubscriptionRepository.findAll(Set.of("imad@mail.com", "ronald@mail.com")))
+                    .thenReturn(List.of(new UserSubscription("imad@mail.com", BASIC)));
+
+            // When / Then
+            mockMvc.perform(post("/api/user-subscriptions/entitlements")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"userEmails": ["imad@mail.com", "ronald@mail.com"]}
+                                    """))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].userEmail").value("imad@mail.com"))
+                    .andExpect(jsonPath("$[0].subscription.id").value("basic"));
+        }
+
+        @Test
+        void shouldAcceptTheMaximumNumberOfEmails() throws Exception {
+            // Given
+            when(userSubscriptionRepository.findAll(any())).thenReturn(List.of());
+
+            // When / Then
+            mockMvc.perform(post("/api/user-subscriptions/entitlements")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(payloadOf(1_000)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("[]"));
+        }
+
+        @Test
+        void shouldRejectMoreThanTheMaximumNumberOfEmails() throws Exception {
+            // When / Then
+            mockMvc.perform(post("/api/user-subscriptions/entitlements")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(payloadOf(1_001)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.statusCode").value(400))
+                    .andExpect(jsonPath("$.message").value("At most 1000 user emails can be checked at once"));
+            verify(userSubscriptionRepository, never()).findAll(any());
+        }
+
+        @Test
+        void shouldRejectANullEmail() throws Exception {
+            // When / Then
+            mockMvc.perform(post("/api/user-subscriptions/entitlements")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"userEmails": ["imad@mail.com", null]}
+                                    """))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("User emails must not be null or blank"));
+            verify(userSubscriptionRepository, never()).findAll(any());
+        }
+
+        @Test
+        void shouldRejectAMissingListOfEmails() throws Exception {
+            // When / Then
+            mockMvc.perform(post("/api/user-subscriptions/entitlements")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        private static String payloadOf(int emailCount) {
+            return IntStream.range(0, emailCount)
+                    .mapToObj(i -> "\"user" + i + "@mail.com\"")
+                    .collect(Collectors.joining(", ", "{\"userEmails\": [", "]}"));
+        }
+    }
+}
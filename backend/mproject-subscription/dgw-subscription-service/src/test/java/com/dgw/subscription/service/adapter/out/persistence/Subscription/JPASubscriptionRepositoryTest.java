@@ -0,0 +1,106 @@
+package com.dgw.operis.subscription.service.adapter.out.persistence.Subscription;
+
+import com.dgw.subscription.code.model.Feature;
+import com.dgw.subscription.code.model.Subscription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JPASubscriptionRepositoryTest {
+
+    private static final Subscription BASIC = new Subscription("basic", "Basic", "Basic plan", Set.of());
+    private static final Subscription PREMIUM = new Subscription("premium", "Premium", "Premium plan",
+            Set.of(Feature.TASK_EXPORT));
+
+    @Mock
+    private JPASubscriptionSpringDataRepository jpaSubscriptionSpringDataRepository;
+
+    @InjectMocks
+    private JPASubscriptionRepository subscriptionRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(jpaSubscriptionSpringDataRepository.findByFeaturesIsNull()).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriptionRepository.shutdownCatalogRefresh();
+    }
+
+    @Test
+    void shouldFindASubscriptionOfTheSnapshotWithoutReload() {
+        // Given
+        when(jpaSubscriptionSpringDataRepository.findAll()).thenReturn(List.of(SubscriptionEntity.from(BASIC)));
+        subscriptionRepository.backfillFeatureMasks();
+
+        // When
+        Subscription subscription = subscriptionRepository.findById("basic");
+
+        // Then
+        assertThat(subscription).isEqualTo(BASIC);
+        verify(jpaSubscriptionSpringDataRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldReloadTheCatalogWhenTheSubscriptionIsNotInTheSnapshot() {
+        // Given: added through another instance after the snapshot was loaded
+        when(jpaSubscriptionSpringDataRepository.findAll())
+                .thenReturn(List.of(SubscriptionEntity.from(BASIC)))
+                .thenReturn(List.of(SubscriptionEntity.from(BASIC), SubscriptionEntity.from(PREMIUM)));
+        subscriptionRepository.backfillFeatureMasks();
+        String loadedVersion = subscriptionRepository.catalog().version();
+
+        // When
+        Subscription subscription = subscriptionRepository.findById("premium");
+
+        // Then
+        assertThat(subscription).isEqualTo(PREMIUM);
+        assertThat(subscriptionRepository.catalog().subscriptions()).containsExactly(BASIC, PREMIUM);
+        assertThat(subscriptionRepository.catalog().version()).isNotEqualTo(loadedVersion);
+        verify(jpaSubscriptionSpringDataRepository, times(2)).findAll();
+    }
+
+    @Test
+    void shouldLoadASubscriptionWrittenWithoutBitmaskAfterStartup() {
+        // Given: written by an instance not upgraded yet
+        when(jpaSubscriptionSpringDataRepository.findAll())
+                .thenReturn(List.of(SubscriptionEntity.from(BASIC)))
+                .thenReturn(List.of(SubscriptionEntity.from(BASIC),
+                        new SubscriptionEntity("premium", "Premium", "Premium plan", null, "TASK_EXPORT", List.of())));
+        subscriptionRepository.backfillFeatureMasks();
+
+        // When
+        Subscription subscription = subscriptionRepository.findById("premium");
+
+        // Then
+        assertThat(subscription).isEqualTo(PREMIUM);
+    }
+
+    @Test
+    void shouldFailWhenTheSubscriptionIsNotFoundAfterReload() {
+        // Given
+        when(jpaSubscriptionSpringDataRepository.findAll()).thenReturn(List.of(SubscriptionEntity.from(BASIC)));
+        subscriptionRepository.backfillFeatureMasks();
+
+        // When / Then
+        assertThatThrownBy(() -> subscriptionRepository.findById("premium"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Subscription not found");
+        verify(jpaSubscriptionSpringDataRepository, times(2)).findAll();
+    }
+}
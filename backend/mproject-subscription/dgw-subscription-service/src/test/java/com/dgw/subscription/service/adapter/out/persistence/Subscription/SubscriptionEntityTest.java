@@ -0,0 +1,65 @@
+package com.dgw.operis.subscription.service.adapter.out.persistence.Subscription;
+
+import com.dgw.subscription.code.model.Feature;
+import com.dgw.subscription.code.model.Subscription;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionEntityTest {
+
+    @Test
+    void shouldWriteBothTheBitmaskAndTheLegacyColumn() {
+        // When
+        SubscriptionEntity entity = SubscriptionEntity.from(
+                new Subscription("premium", "Premium", "Premium plan", Set.of(Feature.TASK_EXPORT)));
+
+        // Then
+        assertThat(entity.getFeatures()).containsExactly(Feature.TASK_EXPORT);
+        assertThat(entity.getLegacyFeatures()).isEqualTo("TASK_EXPORT");
+    }
+
+    @Test
+    void shouldBackfillTheBitmaskFromTheLegacyColumn() {
+        // Given
+        SubscriptionEntity entity = legacyEntity("TASK_EXPORT");
+
+        // When
+        entity.backfillFeatures();
+
+        // Then
+        assertThat(entity.getFeatures()).containsExactly(Feature.TASK_EXPORT);
+    }
+
+    @Test
+    void shouldBackfillNoFeaturesFromAnEmptyLegacyColumn() {
+        // Given
+        SubscriptionEntity entity = legacyEntity("");
+
+        // When
+        entity.backfillFeatures();
+
+        // Then
+        assertThat(entity.getFeatures()).isEmpty();
+    }
+
+    @Test
+    void shouldReadTheLegacyColumnOfARowWrittenWithoutBitmask() {
+        // Given: written by an instance not upgraded yet, after the startup backfill
+        SubscriptionEntity entity = legacyEntity("TASK_EXPORT");
+
+        // When
+        Subscription subscription = entity.toDomain();
+
+        // Then
+        assertThat(subscription.features()).containsExactly(Feature.TASK_EXPORT);
+        assertThat(entity.getFeatures()).isNull();
+    }
+
+    private static SubscriptionEntity legacyEntity(String legacyFeatures) {
+        return new SubscriptionEntity("premium", "Premium", "Premium plan", null, legacyFeatures, new ArrayList<>());
+    }
+}
@@ -0,0 +1,66 @@
+package com.dgw.operis.subscription.service.adapter.out.persistence.UserSubscription;
+
+import com.dgw.subscription.code.model.Feature;
+import com.dgw.subscription.code.model.Subscription;
+import com.dgw.subscription.code.model.UserSubscription;
+import com.dgw.subscription.code.model.port.out.persistence.SubscriptionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JPAUserSubscriptionRepositoryTest {
+
+    private static final Subscription BASIC = new Subscription("basic", "Basic", "Basic plan", Set.of());
+    private static final Subscription PREMIUM = new Subscription("premium", "Premium", "Premium plan",
+            Set.of(Feature.TASK_EXPORT));
+
+    @Mock
+    private JPAUserSubscriptionSpringDataRepository jpaUserSubscriptionSpringDataRepository;
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @InjectMocks
+    private JPAUserSubscriptionRepository userSubscriptionRepository;
+
+    @Test
+    void shouldFindTheSubscriptionsOfTheUsersInASingleLookup() {
+        // Given: unknown@mail.com has no subscription
+        Set<String> userEmails = Set.of("imad@mail.com", "ronald@mail.com", "unknown@mail.com");
+        when(jpaUserSubscriptionSpringDataRepository.findAllById(userEmails)).thenReturn(List.of(
+                new UserSubscriptionEntity("imad@mail.com", "premium", null),
+                new UserSubscriptionEntity("ronald@mail.com", "basic", null)));
+        when(subscriptionRepository.findById("premium")).thenReturn(PREMIUM);
+        when(subscriptionRepository.findById("basic")).thenReturn(BASIC);
+
+        // When
+        List<UserSubscription> userSubscriptions = userSubscriptionRepository.findAll(userEmails);
+
+        // Then
+        assertThat(userSubscriptions).containsExactlyInAnyOrder(
+                new UserSubscription("imad@mail.com", PREMIUM),
+                new UserSubscription("ronald@mail.com", BASIC));
+    }
+
+    @Test
+    void shouldFindNothingWhenNoUserHasASubscription() {
+        // Given
+        Set<String> userEmails = Set.of("unknown@mail.com");
+        when(jpaUserSubscriptionSpringDataRepository.findAllById(userEmails)).thenReturn(List.of());
+
+        // When
+        List<UserSubscription> userSubscriptions = userSubscriptionRepository.findAll(userEmails);
+
+        // Then
+        assertThat(userSubscriptions).isEmpty();
+    }
+}
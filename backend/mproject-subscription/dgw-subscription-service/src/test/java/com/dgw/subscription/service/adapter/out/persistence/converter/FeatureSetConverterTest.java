@@ -0,0 +1,34 @@
+package com.dgw.operis.subscription.service.adapter.out.persistence.converter;
+
+import com.dgw.subscription.code.model.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeatureSetConverterTest {
+
+    private final FeatureSetConverter converter = new FeatureSetConverter();
+
+    @Test
+    void shouldStoreTheFeaturesAsTheirBitmask() {
+        // When / Then
+        assertThat(converter.convertToDatabaseColumn(Set.of(Feature.TASK_EXPORT))).isEqualTo(Feature.TASK_EXPORT.mask());
+        assertThat(converter.convertToDatabaseColumn(Set.of())).isZero();
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    }
+
+    @Test
+    void shouldLoadTheFeaturesOfTheBitmask() {
+        // When / Then
+        assertThat(converter.convertToEntityAttribute(Feature.TASK_EXPORT.mask())).containsExactly(Feature.TASK_EXPORT);
+        assertThat(converter.convertToEntityAttribute(0L)).isEmpty();
+    }
+
+    @Test
+    void shouldLoadNoFeaturesForARowNotBackfilledYet() {
+        // When / Then
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
@@ -1,20 +1,36 @@
 package com.dgw.interceptor;
 
+import com.dgw.observability.ServerTiming;
+import com.dgw.observability.ServerTimingResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.filter.OncePerRequestFilter;
 
+import java.io.IOException;
 import java.util.UUID;
 
+/**
+ * Intercepteur HTTP pour gérer le Correlation ID dans le service User Account.
+ * <p>
+ * Mesure aussi les étapes du traitement (requêtes SQL), renvoyées dans le header {@code Server-Timing}. C'est un
+ * filtre et non un {@code HandlerInterceptor} : le header doit être ajouté avant que le contrôleur écrive la réponse.
+ */
 @Component
-public class MDCUserAccountCorrelationIdInterceptor implements HandlerInterceptor {
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MDCUserAccountCorrelationIdInterceptor extends OncePerRequestFilter {
 
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
 
     @Override
-    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
         String correlationId = request.getHeader(CORRELATION_ID_HEADER);
         if (correlationId == null || correlationId.isEmpty()) {
             correlationId = UUID.randomUUID().toString();
@@ -23,11 +39,14 @@ public class MDCUserAccountCorrelationIdInterceptor implements HandlerIntercepto
         // Ajoute le Correlation ID au MDC (Mapped Diagnostic Context) pour les logs
         MDC.put(CORRELATION_ID_HEADER, correlationId);
 
-        return true;
-    }
-
-    @Override
-    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
-        MDC.clear();
+        ServerTiming timing = ServerTiming.start();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, timing);
+        try {
+            filterChain.doFilter(request, timedResponse);
+            timedResponse.complete();
+        } finally {
+            timing.close();
+            MDC.clear();
+        }
     }
 }
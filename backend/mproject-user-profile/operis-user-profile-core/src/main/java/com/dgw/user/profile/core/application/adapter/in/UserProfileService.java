@@ -1,41 +1,130 @@
 package com.dgw.user.profile.core.application.adapter.in;
 
+import com.dgw.user.profile.core.application.model.BrowseCriteria;
+import com.dgw.user.profile.core.application.model.ImportError;
+import com.dgw.user.profile.core.application.model.ImportReport;
+import com.dgw.user.profile.core.application.model.ImportRow;
 import com.dgw.user.profile.core.application.model.SearchCriteria;
 import com.dgw.user.profile.core.application.model.UserProfile;
+import com.dgw.user.profile.core.application.model.UserProfileChange;
 import com.dgw.user.profile.core.application.model.exception.NotFoundException;
 import com.dgw.user.profile.core.application.port.in.UserProfileUseCases;
 import com.dgw.user.profile.core.application.port.out.persistence.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 public class UserProfileService implements UserProfileUseCases {
+    static final int IMPORT_BATCH_SIZE = 1_000;
+    static final int MAX_REPORTED_ERRORS = 1_000;
+    static final int MAX_CHANGES = 1_000;
+    private static final int MAX_FIELD_LENGTH = 255;
+
     private final UserProfileRepository userProfileRepository;
 
     @Override
     public UserProfile save(UserProfile userProfile) {
         if (userProfile.id() != null) {
-            userProfileRepository.findById(userProfile.id())
+            return userProfileRepository.update(userProfile)
                     .orElseThrow(() -> new NotFoundException("User profile not found"));
         }
 
         return userProfileRepository.save(userProfile);
     }
 
+    /**
+     * Validates the rows as they are read and upserts the valid ones by batches of {@link #IMPORT_BATCH_SIZE}, each in
+     * its own transaction: the batches written before a failure stay written.
+     */
+    @Override
+    public ImportReport importProfiles(Stream<ImportRow> rows) {
+        List<UserProfile> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<ImportError> errors = new ArrayList<>();
+        int imported = 0;
+        int created = 0;
+        long rejected = 0;
+
+        for (Iterator<ImportRow> iterator = rows.iterator(); iterator.hasNext(); ) {
+            ImportRow row = iterator.next();
+            String error = row.error() != null ? row.error() : validate(row.userProfile());
+            if (error != null) {
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportError(row.line(), error));
+                }
+                continue;
+            }
+            batch.add(row.userProfile());
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                created += userProfileRepository.upsertAllByEmail(batch);
+                imported += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            created += userProfileRepository.upsertAllByEmail(batch);
+            imported += batch.size();
+        }
+
+        return new ImportReport(created, imported - created, rejected, errors);
+    }
+
     @Override
     public List<UserProfile> search(SearchCriteria searchCriteria) {
         return userProfileRepository.search(searchCriteria);
     }
 
     @Override
-    public List<UserProfile> findByEmails(List<String> emails) {
-        return userProfileRepository.findByEmailIn(emails);
+    public List<UserProfile> browse(BrowseCriteria browseCriteria) {
+        return userProfileRepository.browse(browseCriteria);
+    }
+
+    @Override
+    public void exportAll(Consumer<UserProfile> consumer) {
+        userProfileRepository.exportAll(consumer);
+    }
+
+    @Override
+    public void findByEmails(List<String> emails, Consumer<List<UserProfile>> consumer) {
+        userProfileRepository.findByEmailIn(emails, consumer);
     }
 
     @Override
     public Optional<UserProfile> findByEmail(String email) {
         return userProfileRepository.findByEmail(email);
     }
+
+    @Override
+    public List<UserProfileChange> findChangesAfter(long cursor, int limit) {
+        return userProfileRepository.findChangesAfter(Math.max(cursor, 0), Math.max(1, Math.min(limit, MAX_CHANGES)));
+    }
+
+    private static String validate(UserProfile userProfile) {
+        String email = userProfile.email() == null ? "" : userProfile.email().trim();
+        int at = email.indexOf('@');
+        if (at <= 0 || at != email.lastIndexOf('@') || at == email.length() - 1) {
+            return "Invalid email: " + userProfile.email();
+        }
+        if (isBlank(userProfile.firstName())) {
+            return "First name is required";
+        }
+        if (isBlank(userProfile.lastName())) {
+            return "Last name is required";
+        }
+        if (email.length() > MAX_FIELD_LENGTH || userProfile.firstName().length() > MAX_FIELD_LENGTH
+                || userProfile.lastName().length() > MAX_FIELD_LENGTH) {
+            return "Fields are limited to " + MAX_FIELD_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 }
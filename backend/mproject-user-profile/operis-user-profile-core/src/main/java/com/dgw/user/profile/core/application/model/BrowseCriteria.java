@@ -0,0 +1,16 @@
+package com.dgw.user.profile.core.application.model;
+
+/**
+ * Page of the profiles in id order, starting after the last id of the previous page: each page is read from the
+ * primary key index however deep it is, unlike an offset.
+ */
+public record BrowseCriteria(long afterId, int size) {
+
+    public static final int DEFAULT_SIZE = 100;
+    public static final int MAX_SIZE = 1_000;
+
+    public BrowseCriteria {
+        afterId = Math.max(afterId, 0);
+        size = size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+    }
+}
@@ -0,0 +1,5 @@
+package com.dgw.user.profile.core.application.model;
+
+public record ImportError(long line, String message) {
+
+}
@@ -0,0 +1,10 @@
+package com.dgw.user.profile.core.application.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: profiles created and updated, rows rejected, and the errors of the first rejected rows.
+ */
+public record ImportReport(int created, int updated, long rejected, List<ImportError> errors) {
+
+}
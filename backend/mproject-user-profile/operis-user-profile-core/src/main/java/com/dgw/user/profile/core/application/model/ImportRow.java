@@ -0,0 +1,15 @@
+package com.dgw.user.profile.core.application.model;
+
+/**
+ * One row of a bulk import: the profile read from line {@code line}, or why it could not be read.
+ */
+public record ImportRow(long line, UserProfile userProfile, String error) {
+
+    public static ImportRow valid(long line, UserProfile userProfile) {
+        return new ImportRow(line, userProfile, null);
+    }
+
+    public static ImportRow invalid(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+}
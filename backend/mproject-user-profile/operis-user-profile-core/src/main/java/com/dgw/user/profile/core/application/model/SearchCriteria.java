@@ -1,5 +1,16 @@
 package com.dgw.user.profile.core.application.model;
 
-public record SearchCriteria(String query) {
+public record SearchCriteria(String query, int page, int size) {
 
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public SearchCriteria {
+        page = Math.max(page, 0);
+        size = size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+    }
+
+    public SearchCriteria(String query) {
+        this(query, 0, DEFAULT_SIZE);
+    }
 }
@@ -0,0 +1,14 @@
+package com.dgw.user.profile.core.application.model;
+
+import java.time.Instant;
+
+/**
+ * Creation or update of a profile, recorded with it for the consumers caching profiles.
+ *
+ * @param id            position in the change feed, increasing
+ * @param email         email of the profile after the change, normalized
+ * @param previousEmail email of the profile before the change when it changed, normalized, {@code null} otherwise
+ */
+public record UserProfileChange(long id, Long userProfileId, String email, String previousEmail, Instant changedAt) {
+
+}
@@ -1,17 +1,31 @@
 package com.dgw.user.profile.core.application.port.in;
 
+import com.dgw.user.profile.core.application.model.BrowseCriteria;
+import com.dgw.user.profile.core.application.model.ImportReport;
+import com.dgw.user.profile.core.application.model.ImportRow;
 import com.dgw.user.profile.core.application.model.SearchCriteria;
 import com.dgw.user.profile.core.application.model.UserProfile;
+import com.dgw.user.profile.core.application.model.UserProfileChange;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface UserProfileUseCases {
     UserProfile save(UserProfile userProfile);
 
+    ImportReport importProfiles(Stream<ImportRow> rows);
+
     List<UserProfile> search(SearchCriteria searchCriteria);
 
-    List<UserProfile> findByEmails(List<String> userProfilesEmails);
+    List<UserProfile> browse(BrowseCriteria browseCriteria);
+
+    void exportAll(Consumer<UserProfile> consumer);
+
+    void findByEmails(List<String> userProfilesEmails, Consumer<List<UserProfile>> consumer);
 
     Optional<UserProfile> findByEmail(String email);
+
+    List<UserProfileChange> findChangesAfter(long cursor, int limit);
 }
@@ -1,19 +1,51 @@
 package com.dgw.user.profile.core.application.port.out.persistence;
 
+import com.dgw.user.profile.core.application.model.BrowseCriteria;
 import com.dgw.user.profile.core.application.model.SearchCriteria;
 import com.dgw.user.profile.core.application.model.UserProfile;
+import com.dgw.user.profile.core.application.model.UserProfileChange;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserProfileRepository {
     UserProfile save(UserProfile userProfile);
 
+    /**
+     * Updates the stored profile of the same id in a single statement.
+     *
+     * @return the updated profile, empty when no profile has this id
+     */
+    Optional<UserProfile> update(UserProfile userProfile);
+
+    /**
+     * Creates or updates, matching them by email, a batch of profiles in one transaction.
+     *
+     * @return the number of profiles created
+     */
+    int upsertAllByEmail(List<UserProfile> userProfiles);
+
     List<UserProfile> search(SearchCriteria criteria);
 
+    List<UserProfile> browse(BrowseCriteria criteria);
+
+    /**
+     * Reads every profile in id order, passing them one at a time to {@code consumer}, without holding them all.
+     */
+    void exportAll(Consumer<UserProfile> consumer);
+
     Optional<UserProfile> findById(Long id);
 
-    List<UserProfile> findByEmailIn(List<String> emails);
+    /**
+     * Looks up the profiles of the given emails, passing them to {@code consumer} a batch at a time as they are read.
+     */
+    void findByEmailIn(List<String> emails, Consumer<List<UserProfile>> consumer);
 
     Optional<UserProfile> findByEmail(String email);
+
+    /**
+     * Changes recorded after the {@code cursor} one, oldest first.
+     */
+    List<UserProfileChange> findChangesAfter(long cursor, int limit);
 }
@@ -1,7 +1,12 @@
 package com.dgw.user.profile.core.application.adapter.in;
 
+import com.dgw.user.profile.core.application.model.BrowseCriteria;
+import com.dgw.user.profile.core.application.model.ImportError;
+import com.dgw.user.profile.core.application.model.ImportReport;
+import com.dgw.user.profile.core.application.model.ImportRow;
 import com.dgw.user.profile.core.application.model.SearchCriteria;
 import com.dgw.user.profile.core.application.model.UserProfile;
+import com.dgw.user.profile.core.application.model.UserProfileChange;
 import com.dgw.user.profile.core.application.model.exception.NotFoundException;
 import com.dgw.user.profile.core.application.port.out.persistence.UserProfileRepository;
 import org.junit.jupiter.api.Nested;
@@ -11,12 +16,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -79,20 +90,22 @@ class UserProfileServiceTest {
         void shouldUpdateAnExistingUserProfileWhenIdIsNotNull() {
             // Given
             UserProfile userProfile = IMAD_PROFILE_WITH_ID;
-            when(userProfileRepository.findById(userProfile.id())).thenReturn(Optional.of(userProfile));
+            when(userProfileRepository.update(userProfile)).thenReturn(Optional.of(userProfile));
 
             // When
-            userProfileUseCases.save(userProfile);
+            UserProfile updatedUser = userProfileUseCases.save(userProfile);
 
             // Then
-            verify(userProfileRepository).save(eq(userProfile));
+            assertThat(updatedUser).isEqualTo(userProfile);
+            verify(userProfileRepository, never()).findById(anyLong());
+            verify(userProfileRepository, never()).save(any());
         }
 
         @Test
         void shouldThrowNotFoundExceptionWhenTryingToUpdateAUserProfileAndItDoesntExist() {
             // Given
             UserProfile userProfile = IMAD_PROFILE_WITH_ID;
-            when(userProfileRepository.findById(userProfile.id())).thenReturn(Optional.empty());
+            when(userProfileRepository.update(userProfile)).thenReturn(Optional.empty());
 
             // When / Then
             assertThrows(NotFoundException.class, () -> userProfileUseCases.save(userProfile));
@@ -127,6 +140,84 @@ class UserProfileServiceTest {
         }
     }
 
+    @Nested
+    class Browse {
+        @Test
+        void shouldBoundThePageToBrowse() {
+            // Given
+            when(userProfileRepository.browse(new BrowseCriteria(0, BrowseCriteria.MAX_SIZE)))
+                    .thenReturn(List.of(IMAD_PROFILE_WITH_ID, RONALD_PROFILE_WITH_ID));
+
+            // When
+            List<UserProfile> userProfiles = userProfileUseCases.browse(new BrowseCriteria(-1, 1_000_000));
+
+            // Then
+            assertThat(userProfiles).containsExactly(IMAD_PROFILE_WITH_ID, RONALD_PROFILE_WITH_ID);
+        }
+    }
+
+    @Nested
+    class Import {
+        @Test
+        void shouldUpsertValidRowsByBatches() {
+            // Given
+            int rows = UserProfileService.IMPORT_BATCH_SIZE + 500;
+            when(userProfileRepository.upsertAllByEmail(anyList())).thenAnswer(invocation -> {
+                List<UserProfile> batch = invocation.getArgument(0);
+                return batch.size() - 100;
+            });
+
+            // When
+            ImportReport report = userProfileUseCases.importProfiles(LongStream.rangeClosed(1, rows)
+                    .mapToObj(line -> ImportRow.valid(line,
+                            new UserProfile(null, "member" + line + "@corp.com", "Member", "N" + line, null))));
+
+            // Then
+            verify(userProfileRepository, times(2)).upsertAllByEmail(anyList());
+            assertThat(report).isEqualTo(new ImportReport(rows - 200, 200, 0, List.of()));
+        }
+
+        @Test
+        void shouldReportRejectedRowsWithTheirLine() {
+            // Given
+            Stream<ImportRow> rows = Stream.of(
+                    ImportRow.valid(2, IMAD_PROFILE_WITH_ID),
+                    ImportRow.invalid(3, "Invalid JSON: Unexpected end-of-input"),
+                    ImportRow.valid(4, new UserProfile(null, "ronald.test", "Ronald", "Polanco", null)),
+                    ImportRow.valid(5, new UserProfile(null, "ronald.test@gmail.com", " ", "Polanco", null)),
+                    ImportRow.valid(6, RONALD_PROFILE_WITH_ID));
+            when(userProfileRepository.upsertAllByEmail(List.of(IMAD_PROFILE_WITH_ID, RONALD_PROFILE_WITH_ID)))
+                    .thenReturn(2);
+
+            // When
+            ImportReport report = userProfileUseCases.importProfiles(rows);
+
+            // Then
+            assertThat(report).isEqualTo(new ImportReport(2, 0, 3, List.of(
+                    new ImportError(3, "Invalid JSON: Unexpected end-of-input"),
+                    new ImportError(4, "Invalid email: ronald.test"),
+                    new ImportError(5, "First name is required"))));
+        }
+    }
+
+    @Nested
+    class Changes {
+        @Test
+        void shouldBoundTheNumberOfChangesRead() {
+            // Given
+            UserProfileChange change = new UserProfileChange(43L, IMAD_PROFILE_WITH_ID.id(),
+                    IMAD_PROFILE_WITH_ID.email(), null, Instant.parse("2024-06-01T10:00:00Z"));
+            when(userProfileRepository.findChangesAfter(42L, UserProfileService.MAX_CHANGES))
+                    .thenReturn(List.of(change));
+
+            // When
+            List<UserProfileChange> changes = userProfileUseCases.findChangesAfter(42L, 1_000_000);
+
+            // Then
+            assertThat(changes).containsExactly(change);
+        }
+    }
+
     private static UserProfile copy(UserProfile userProfile, Long id) {
         return new UserProfile(
                 id,
@@ -0,0 +1,102 @@
+package com.dgw.user.profile.core.service.adapter.in.rest;
+
+import com.dgw.user.profile.core.application.model.UserProfileChange;
+import com.dgw.user.profile.core.application.port.in.UserProfileUseCases;
+import com.dgw.user.profile.core.service.adapter.in.rest.mappers.UserProfileMapper;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.UserProfileChangesDto;
+import com.dgw.user.profile.core.service.config.UserProfileChangeFeedProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long polling of the change feed: a request with no change after its cursor waits, without holding a thread, until
+ * changes are written (through any instance) or the poll times out with an empty page.
+ * <p>
+ * While requests wait, a single thread reads the changes after the lowest of their cursors every poll interval and
+ * completes the requests they concern: one query per interval whatever the number of consumers.
+ */
+@Component
+@Slf4j
+public class UserProfileChangeFeed {
+    static final int MAX_CHANGES_PER_POLL = 1_000;
+
+    private final UserProfileUseCases userProfileUseCases;
+    private final UserProfileMapper userProfileMapper;
+    private final long longPollTimeoutMillis;
+    private final Queue<Poll> polls = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService pollScheduler;
+
+    public UserProfileChangeFeed(UserProfileUseCases userProfileUseCases, UserProfileMapper userProfileMapper,
+                                 UserProfileChangeFeedProperties properties) {
+        this.userProfileUseCases = userProfileUseCases;
+        this.userProfileMapper = userProfileMapper;
+        this.longPollTimeoutMillis = properties.longPollTimeout().toMillis();
+        this.pollScheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("user-profile-change-feed-"));
+        long pollInterval = properties.pollInterval().toMillis();
+        pollScheduler.scheduleWithFixedDelay(this::completePolls, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Changes after {@code cursor}, at most {@code limit} (brought within 1 and {@link #MAX_CHANGES_PER_POLL}), as
+     * soon as there is at least one.
+     */
+    public DeferredResult<UserProfileChangesDto> changesAfter(long cursor, int requestedLimit) {
+        int limit = Math.clamp(requestedLimit, 1, MAX_CHANGES_PER_POLL);
+        DeferredResult<UserProfileChangesDto> result = new DeferredResult<>(longPollTimeoutMillis,
+                () -> userProfileMapper.toDto(cursor, List.of()));
+        List<UserProfileChange> changes = userProfileUseCases.findChangesAfter(cursor, limit);
+        if (!changes.isEmpty()) {
+            result.setResult(userProfileMapper.toDto(cursor, changes));
+            return result;
+        }
+
+        Poll poll = new Poll(cursor, limit, result);
+        result.onCompletion(() -> polls.remove(poll));
+        polls.add(poll);
+        return result;
+    }
+
+    void completePolls() {
+        if (polls.isEmpty()) {
+            return;
+        }
+        try {
+            long lowestCursor = polls.stream().mapToLong(Poll::cursor).min().orElseThrow();
+            List<UserProfileChange> changes = userProfileUseCases.findChangesAfter(lowestCursor, MAX_CHANGES_PER_POLL);
+            if (changes.isEmpty()) {
+                return;
+            }
+            for (Poll poll : polls) {
+                List<UserProfileChange> pollChanges = changes.stream()
+                        .filter(change -> change.id() > poll.cursor())
+                        .limit(poll.limit())
+                        .toList();
+                if (!pollChanges.isEmpty()) {
+                    poll.result().setResult(userProfileMapper.toDto(poll.cursor(), pollChanges));
+                }
+            }
+        } catch (RuntimeException e) {
+            // Kept scheduled: the waiting requests are completed by a next poll or time out
+            log.warn("Failed to read the user profile changes", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pollScheduler.shutdownNow();
+    }
+
+    private record Poll(long cursor, int limit, DeferredResult<UserProfileChangesDto> result) {
+    }
+}
@@ -1,19 +1,35 @@
 package com.dgw.user.profile.core.service.adapter.in.rest;
 
+import com.dgw.user.profile.core.application.model.BrowseCriteria;
+import com.dgw.user.profile.core.application.model.ImportRow;
 import com.dgw.user.profile.core.application.port.in.UserProfileUseCases;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dgw.user.profile.core.service.adapter.in.rest.mappers.BrowseCriteriaMapper;
+import com.dgw.user.profile.core.service.adapter.in.rest.mappers.ImportRowMapper;
 import com.dgw.user.profile.core.service.adapter.in.rest.mappers.SearchCriteriaMapper;
 import com.dgw.user.profile.core.service.adapter.in.rest.mappers.UserProfileMapper;
 import com.dgw.user.profile.core.service.adapter.in.rest.model.CreateUserProfilePayload;
 import com.dgw.user.profile.core.service.adapter.in.rest.model.GetUserProfilesFromEmailsPayload;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.ImportReportDto;
 import com.dgw.user.profile.core.service.adapter.in.rest.model.UpdateUserProfilePayload;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.UserProfileChangesDto;
 import com.dgw.user.profile.core.service.adapter.in.rest.model.UserProfileDto;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.UserProfilePageDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/user-profiles")
@@ -21,9 +37,15 @@ import java.util.List;
 @Slf4j
 public class UserProfileController {
 
+    private static final String CSV = "text/csv";
+
     private final UserProfileUseCases userProfileUseCases;
     private final SearchCriteriaMapper searchCriteriaMapper;
+    private final BrowseCriteriaMapper browseCriteriaMapper;
     private final UserProfileMapper userProfileMapper;
+    private final ImportRowMapper importRowMapper;
+    private final UserProfileChangeFeed userProfileChangeFeed;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("")
     public ResponseEntity<UserProfileDto> create(@RequestBody CreateUserProfilePayload payload) {
@@ -33,6 +55,27 @@ public class UserProfileController {
         return new ResponseEntity<>(userProfileDto, HttpStatus.CREATED);
     }
 
+    /**
+     * Bulk import, one {@link CreateUserProfilePayload} JSON object per line; see {@link #importCsv(InputStream)}.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportReportDto importNdjson(InputStream body) {
+        try (Stream<ImportRow> rows = importRowMapper.fromNdjson(body)) {
+            return userProfileMapper.toDto(userProfileUseCases.importProfiles(rows));
+        }
+    }
+
+    /**
+     * Bulk import of a CSV file: profiles created or updated by email, the report giving the number of each and the
+     * errors of the rejected lines.
+     */
+    @PostMapping(value = "/import", consumes = CSV)
+    public ImportReportDto importCsv(InputStream body) {
+        try (Stream<ImportRow> rows = importRowMapper.fromCsv(body)) {
+            return userProfileMapper.toDto(userProfileUseCases.importProfiles(rows));
+        }
+    }
+
     @PutMapping("")
     public UserProfileDto update(@RequestBody UpdateUserProfilePayload payload) {
         return userProfileMapper.toDto(
@@ -40,23 +83,90 @@ public class UserProfileController {
         );
     }
 
+    /**
+     * Page of all the profiles in id order, for a full enumeration: the {@code next} of each page is the {@code after}
+     * of the following one. See {@link #exportAll()} to read them all at once.
+     */
+    @GetMapping("")
+    public UserProfilePageDto browse(@RequestParam(defaultValue = "0") long after,
+                                     @RequestParam(defaultValue = "100") int size) {
+        BrowseCriteria criteria = browseCriteriaMapper.from(after, size);
+        return userProfileMapper.toDto(criteria, userProfileUseCases.browse(criteria));
+    }
+
+    /**
+     * Streams every profile in id order, one JSON object per line, read from a database cursor: constant memory
+     * whatever the size of the directory.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                // Lines end with a newline, root values being otherwise separated by a space
+                generator.setRootValueSeparator(null);
+                userProfileUseCases.exportAll(userProfile -> {
+                    try {
+                        generator.writeObject(userProfileMapper.toDto(userProfile));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/search")
-    public List<UserProfileDto> search(@RequestParam String query) {
+    public List<UserProfileDto> search(@RequestParam String query,
+                                       @RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(defaultValue = "20") int size) {
         return userProfileMapper.toDto(
-                userProfileUseCases.search(searchCriteriaMapper.from(query))
+                userProfileUseCases.search(searchCriteriaMapper.from(query, page, size))
         );
     }
 
+    /**
+     * Streams the JSON array of the profiles found, written batch by batch as the lookups complete.
+     */
     @PostMapping("/find")
-    public ResponseEntity<List<UserProfileDto>> getUserProfilesFromEmails(
+    public ResponseEntity<StreamingResponseBody> getUserProfilesFromEmails(
             @RequestBody GetUserProfilesFromEmailsPayload payload,
             @RequestHeader(value = "X-Correlation-ID", required = false) String correlationId) {
         log.info("Received X-Correlation-ID: {}", correlationId);
-        List<UserProfileDto> userProfileDTO = userProfileMapper.toDto(
-                userProfileUseCases.findByEmails(payload.userProfilesEmails())
-        );
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                userProfileUseCases.findByEmails(payload.userProfilesEmails(), userProfiles -> {
+                    try {
+                        for (UserProfileDto userProfileDto : userProfileMapper.toDto(userProfiles)) {
+                            generator.writeObject(userProfileDto);
+                        }
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 
-        return new ResponseEntity<>(userProfileDTO, HttpStatus.OK);
+    /**
+     * Change feed of the profiles, for the consumers caching them: the changes after the {@code after} cursor, oldest
+     * first, with the cursor to pass next. Long-polled: waits for a change when there is none yet.
+     */
+    @GetMapping("/changes")
+    public DeferredResult<UserProfileChangesDto> getChanges(@RequestParam(defaultValue = "0") long after,
+                                                            @RequestParam(defaultValue = "100") int limit) {
+        return userProfileChangeFeed.changesAfter(after, limit);
     }
 
     @GetMapping("/email/{email}")
@@ -2,6 +2,7 @@ package com.dgw.user.profile.core.service.adapter.in.rest.handler;
 
 import com.dgw.user.profile.core.service.adapter.in.rest.model.UserProfileApiError;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -15,11 +16,12 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @RestControllerAdvice
 @Slf4j
 public class UserProfileExceptionHandler extends ResponseEntityExceptionHandler {
-
+    private static final String NORMALIZED_EMAIL_INDEX = "ux_user_profile_normalized_email";
 
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
@@ -33,6 +35,19 @@ public class UserProfileExceptionHandler extends ResponseEntityExceptionHandler
         return handleExceptionInternal(ex, body, headers, status, request);
     }
 
+    /**
+     * A write rejected by a constraint, most likely the unique normalized email: answered without the SQL message.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Object> handleDataIntegrityViolation(DataIntegrityViolationException ex, WebRequest request) {
+        String cause = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        String message = cause.contains(NORMALIZED_EMAIL_INDEX)
+                ? "A user profile already exists with this email."
+                : "The user profile conflicts with an existing one.";
+        UserProfileApiError body = new UserProfileApiError(HttpStatus.CONFLICT.value(), HttpStatus.CONFLICT.name(), message);
+        return handleExceptionInternal(ex, body, new HttpHeaders(), HttpStatusCode.valueOf(HttpStatus.CONFLICT.value()), request);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGenericException(Exception ex, WebRequest request) {
         return handleExceptionInternal(ex, null, new HttpHeaders(), HttpStatusCode.valueOf(HttpStatus.INTERNAL_SERVER_ERROR.value()), request);
@@ -0,0 +1,11 @@
+package com.dgw.user.profile.core.service.adapter.in.rest.mappers;
+
+import com.dgw.user.profile.core.application.model.BrowseCriteria;
+import org.springframework.stereotype.Component;
+
+@Component
+public final class BrowseCriteriaMapper {
+    public BrowseCriteria from(long after, int size) {
+        return new BrowseCriteria(after, size);
+    }
+}
@@ -0,0 +1,189 @@
+package com.dgw.user.profile.core.service.adapter.in.rest.mappers;
+
+import com.dgw.user.profile.core.application.model.ImportRow;
+import com.dgw.user.profile.core.application.model.UserProfile;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.CreateUserProfilePayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.RFC4180Parser;
+import com.opencsv.exceptions.CsvValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the rows of a bulk import lazily, record by record, as the request body arrives.
+ */
+@Component
+@RequiredArgsConstructor
+public final class ImportRowMapper {
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("email", "firstname", "lastname");
+    /**
+     * Lines a quoted field may span, so that an unterminated quote does not read the rest of the body as one field.
+     */
+    private static final int MAX_CSV_RECORD_LINES = 10;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * One {@link CreateUserProfilePayload} JSON object per line.
+     */
+    public Stream<ImportRow> fromNdjson(InputStream body) {
+        return lines(body, (line, text) -> {
+            try {
+                CreateUserProfilePayload payload = objectMapper.readValue(text, CreateUserProfilePayload.class);
+                return ImportRow.valid(line, new UserProfile(null, payload.email(), payload.firstName(),
+                        payload.lastName(), payload.birthDate()));
+            } catch (JsonProcessingException e) {
+                return ImportRow.invalid(line, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        });
+    }
+
+    /**
+     * A header line naming the columns {@code email}, {@code firstName}, {@code lastName} and, optionally,
+     * {@code birthDate} (ISO date), in any order, then one profile per record. Records follow RFC 4180: fields
+     * between double quotes may contain commas, doubled double quotes and line breaks; a row is numbered after the
+     * line it starts on.
+     */
+    public Stream<ImportRow> fromCsv(InputStream body) {
+        CSVReader reader = new CSVReaderBuilder(new InputStreamReader(body, StandardCharsets.UTF_8))
+                .withCSVParser(new RFC4180Parser())
+                .withMultilineLimit(MAX_CSV_RECORD_LINES)
+                .build();
+        CsvColumns columns = new CsvColumns();
+        Spliterator<ImportRow> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            private boolean failed;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super ImportRow> action) {
+                while (!failed) {
+                    long line = reader.getLinesRead() + 1;
+                    String[] record;
+                    try {
+                        record = reader.readNext();
+                    } catch (IOException | CsvValidationException e) {
+                        // The position in the body is lost: the rows after are not read
+                        failed = true;
+                        action.accept(ImportRow.invalid(line, "Invalid CSV: " + e.getMessage()));
+                        return true;
+                    }
+                    if (record == null) {
+                        return false;
+                    }
+                    if (record.length == 1 && record[0].isBlank()) {
+                        continue;
+                    }
+                    List<String> values = Arrays.asList(record);
+                    ImportRow row = columns.indexes == null
+                            ? columns.readHeader(line, values)
+                            : columns.toRow(line, values);
+                    if (row != null) {
+                        action.accept(row);
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(rows, false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static Stream<ImportRow> lines(InputStream body, LineMapper mapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        AtomicLong lineNumber = new AtomicLong();
+        return reader.lines()
+                .map(text -> {
+                    long line = lineNumber.incrementAndGet();
+                    return text.isBlank() ? null : mapper.map(line, text);
+                })
+                .filter(Objects::nonNull)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Position of the columns, read from the header line.
+     */
+    private static final class CsvColumns {
+
+        private Map<String, Integer> indexes;
+        private String headerError;
+
+        ImportRow readHeader(long line, List<String> header) {
+            indexes = IntStream.range(0, header.size()).boxed()
+                    .collect(Collectors.toMap(i -> header.get(i).trim().toLowerCase(Locale.ROOT), Function.identity(),
+                            (first, second) -> first));
+            List<String> missing = REQUIRED_CSV_COLUMNS.stream()
+                    .filter(column -> !indexes.containsKey(column))
+                    .toList();
+            if (missing.isEmpty()) {
+                return null;
+            }
+            headerError = "Missing columns in the header: " + missing;
+            return ImportRow.invalid(line, headerError);
+        }
+
+        ImportRow toRow(long line, List<String> values) {
+            if (headerError != null) {
+                return ImportRow.invalid(line, headerError);
+            }
+            String birthDate = value(values, "birthdate");
+            LocalDate parsedBirthDate;
+            try {
+                parsedBirthDate = birthDate == null || birthDate.isBlank() ? null : LocalDate.parse(birthDate.trim());
+            } catch (DateTimeParseException e) {
+                return ImportRow.invalid(line, "Invalid birth date: " + birthDate);
+            }
+            return ImportRow.valid(line, new UserProfile(null, value(values, "email"), value(values, "firstname"),
+                    value(values, "lastname"), parsedBirthDate));
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = indexes.get(column);
+            return index == null || index >= values.size() ? null : values.get(index);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineMapper {
+        ImportRow map(long line, String text);
+    }
+}
@@ -5,7 +5,7 @@ import org.springframework.stereotype.Component;
 
 @Component
 public final class SearchCriteriaMapper {
-    public SearchCriteria from(String query) {
-        return new SearchCriteria(query);
+    public SearchCriteria from(String query, int page, int size) {
+        return new SearchCriteria(query, page, size);
     }
 }
@@ -1,9 +1,15 @@
 package com.dgw.user.profile.core.service.adapter.in.rest.mappers;
 
+import com.dgw.user.profile.core.application.model.BrowseCriteria;
+import com.dgw.user.profile.core.application.model.ImportReport;
 import com.dgw.user.profile.core.application.model.UserProfile;
+import com.dgw.user.profile.core.application.model.UserProfileChange;
 import com.dgw.user.profile.core.service.adapter.in.rest.model.CreateUserProfilePayload;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.ImportReportDto;
 import com.dgw.user.profile.core.service.adapter.in.rest.model.UpdateUserProfilePayload;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.UserProfileChangesDto;
 import com.dgw.user.profile.core.service.adapter.in.rest.model.UserProfileDto;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.UserProfilePageDto;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
@@ -31,6 +37,40 @@ public final class UserProfileMapper {
         );
     }
 
+    public ImportReportDto toDto(ImportReport report) {
+        return new ImportReportDto(
+                report.created(),
+                report.updated(),
+                report.rejected(),
+                report.errors().stream()
+                        .map(error -> new ImportReportDto.RowError(error.line(), error.message()))
+                        .toList()
+        );
+    }
+
+    /**
+     * Page of profiles read for {@code criteria}; a full page may be followed by another one.
+     */
+    public UserProfilePageDto toDto(BrowseCriteria criteria, List<UserProfile> page) {
+        return new UserProfilePageDto(
+                toDto(page),
+                page.size() < criteria.size() ? null : page.get(page.size() - 1).id()
+        );
+    }
+
+    /**
+     * Page of changes read after {@code cursor}, the next cursor being the last change read.
+     */
+    public UserProfileChangesDto toDto(long cursor, List<UserProfileChange> changes) {
+        return new UserProfileChangesDto(
+                changes.isEmpty() ? cursor : changes.get(changes.size() - 1).id(),
+                changes.stream()
+                        .map(change -> new UserProfileChangesDto.Change(change.id(), change.userProfileId(),
+                                change.email(), change.previousEmail(), change.changedAt()))
+                        .toList()
+        );
+    }
+
     public List<UserProfileDto> toDto(List<UserProfile> domains) {
         return CollectionUtils.isEmpty(domains) ? List.of() : domains.stream()
                 .map(this::toDto)
@@ -0,0 +1,10 @@
+package com.dgw.user.profile.core.service.adapter.in.rest.model;
+
+import java.util.List;
+
+public record ImportReportDto(int created, int updated, long rejected, List<RowError> errors) {
+
+    public record RowError(long line, String message) {
+
+    }
+}
@@ -0,0 +1,14 @@
+package com.dgw.user.profile.core.service.adapter.in.rest.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @param cursor position to pass as {@code after} to read the next changes
+ */
+public record UserProfileChangesDto(long cursor, List<Change> changes) {
+
+    public record Change(long id, Long userProfileId, String email, String previousEmail, Instant changedAt) {
+
+    }
+}
@@ -0,0 +1,10 @@
+package com.dgw.user.profile.core.service.adapter.in.rest.model;
+
+import java.util.List;
+
+/**
+ * @param next {@code after} of the next page, {@code null} on the last page
+ */
+public record UserProfilePageDto(List<UserProfileDto> profiles, Long next) {
+
+}
@@ -0,0 +1,59 @@
+package com.dgw.user.profile.core.service.adapter.out.persistence;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The changes are recorded by {@code INSERT ... SELECT} from the profile rows: no entity to load, one statement per
+ * profile updated or per chunk of profiles imported, and the previous email read in the same statement.
+ */
+@Repository
+public interface JPAUserProfileChangeSpringDataRepository extends JpaRepository<UserProfileChangeEntity, Long> {
+
+    List<UserProfileChangeEntity> findByIdGreaterThanAndChangedAtLessThanEqualOrderByIdAsc(Long id,
+                                                                                          Instant changedAt,
+                                                                                          Limit limit);
+
+    /**
+     * Position of the last change written before {@code changedAt}, {@code 0} when there is none.
+     */
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM UserProfileChangeEntity c WHERE c.changedAt <= :changedAt")
+    long findLastIdChangedAtOrBefore(@Param("changedAt") Instant changedAt);
+
+    /**
+     * Records the change of the profile of the given id to {@code email}, before updating it; {@code 0} when there is
+     * no such profile.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_profile_change (user_profile_id, email, previous_email, changed_at)"
+            + " SELECT id, :email, CASE WHEN normalized_email <> :email THEN normalized_email END, :changedAt"
+            + " FROM user_profile WHERE id = :id",
+            nativeQuery = true)
+    int recordChange(@Param("id") Long id, @Param("email") String normalizedEmail,
+                     @Param("changedAt") Instant changedAt);
+
+    /**
+     * Records the creation or update of the profiles of the given emails, once they are written.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_profile_change (user_profile_id, email, changed_at)"
+            + " SELECT id, normalized_email, :changedAt FROM user_profile WHERE normalized_email IN (:emails)",
+            nativeQuery = true)
+    int recordChanges(@Param("emails") Collection<String> normalizedEmails, @Param("changedAt") Instant changedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserProfileChangeEntity c WHERE c.changedAt < :changedAt")
+    int deleteByChangedAtBefore(@Param("changedAt") Instant changedAt);
+}
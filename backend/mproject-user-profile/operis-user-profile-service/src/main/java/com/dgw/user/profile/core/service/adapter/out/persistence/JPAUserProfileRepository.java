@@ -1,35 +1,320 @@
 package com.dgw.user.profile.core.service.adapter.out.persistence;
 
+import com.dgw.user.profile.core.application.model.BrowseCriteria;
 import com.dgw.user.profile.core.application.model.SearchCriteria;
 import com.dgw.user.profile.core.application.model.UserProfile;
+import com.dgw.user.profile.core.application.model.UserProfileChange;
 import com.dgw.user.profile.core.application.port.out.persistence.UserProfileRepository;
 import com.dgw.user.profile.core.service.adapter.out.persistence.mappers.UserProfileEntityMapper;
+import com.dgw.user.profile.core.service.adapter.out.persistence.search.UserProfileSearchIndex;
+import com.dgw.user.profile.core.service.config.UserProfileChangeFeedProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
+@Slf4j
 public class JPAUserProfileRepository implements UserProfileRepository {
+    private static final int SEARCH_INDEX_LOAD_BATCH_SIZE = 5_000;
+    /**
+     * Emails per query of a bulk lookup. With {@code hibernate.query.in_clause_parameter_padding}, IN lists are padded
+     * to the next power of two: at most 9 statement shapes, each parsed and planned once.
+     */
+    static final int EMAIL_LOOKUP_CHUNK_SIZE = 256;
+    /**
+     * Chunks of a bulk lookup queried at the same time, well below the size of the connection pool.
+     */
+    private static final int EMAIL_LOOKUP_PARALLELISM = 4;
+
     private final JPAUserProfileSpringDataRepository jpaUserProfileSpringDataRepository;
+    private final JPAUserProfileChangeSpringDataRepository changeRepository;
+    private final UserProfileChangeFeedProperties changeFeedProperties;
     private final UserProfileEntityMapper userProfileEntityMapper;
+    private final Cache<String, UserProfile> userProfileCache;
+    private final Cache<Long, String> userProfileEmailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final UserProfileSearchIndex searchIndex = new UserProfileSearchIndex();
+    private final ScheduledExecutorService searchIndexRefresher = Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("user-profile-search-index-"));
+    // Position in the change feed of the last change applied to the search index, guarded by this
+    private long searchIndexCursor;
+    // Not a bean: an Executor bean would replace the task executor of Spring MVC async requests
+    private final ExecutorService emailLookupExecutor = new ThreadPoolExecutor(
+            EMAIL_LOOKUP_PARALLELISM, EMAIL_LOOKUP_PARALLELISM, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1_000), new CustomizableThreadFactory("email-lookup-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    /**
+     * Fills the emails normalized for lookup of the profiles written before the column existed and moves the id table
+     * past the existing ids, then loads every profile in the search index, by batches in id order, before the service
+     * takes requests. The index is then kept up to date with the changes made through every instance by
+     * {@link #refreshSearchIndex()}, starting from the last change visible before the load.
+     */
+    @PostConstruct
+    void buildSearchIndex() {
+        backfillNormalizedEmails();
+        jpaUserProfileSpringDataRepository.alignIdSequence(UserProfileEntity.ID_ALLOCATION_SIZE);
+
+        searchIndexCursor = changeRepository.findLastIdChangedAtOrBefore(
+                Instant.now().minus(changeFeedProperties.visibilityDelay()));
+        long start = System.nanoTime();
+        long lastId = 0;
+        List<UserProfileEntity> batch;
+        do {
+            batch = jpaUserProfileSpringDataRepository.findByIdGreaterThanOrderByIdAsc(lastId,
+                    Limit.of(SEARCH_INDEX_LOAD_BATCH_SIZE));
+            batch.forEach(this::index);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == SEARCH_INDEX_LOAD_BATCH_SIZE);
+        log.info("Indexed {} user profiles for search in {} ms", searchIndex.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        long refreshInterval = changeFeedProperties.searchIndexRefreshInterval().toMillis();
+        searchIndexRefresher.scheduleWithFixedDelay(this::refreshSearchIndex, refreshInterval, refreshInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Fills the normalized email of the profiles written before the column existed. Profiles whose emails only differ
+     * by case or surrounding spaces cannot share it under the unique index: the one already holding it, or else the
+     * oldest one, gets it; the others are left without it, so not found by email, and reported to be merged.
+     */
+    int backfillNormalizedEmails() {
+        Map<String, List<UserProfileEntity>> collisions = jpaUserProfileSpringDataRepository.findWithCollidingEmails()
+                .stream()
+                .collect(Collectors.groupingBy(entity -> UserProfileEntity.normalizeEmail(entity.getEmail()),
+                        LinkedHashMap::new, Collectors.toList()));
+        List<Long> skippedIds = new ArrayList<>();
+        collisions.forEach((normalizedEmail, entities) -> {
+            UserProfileEntity kept = entities.stream()
+                    .filter(entity -> entity.getNormalizedEmail() != null)
+                    .findFirst()
+                    .orElse(entities.get(0));
+            List<Long> duplicateIds = entities.stream()
+                    .filter(entity -> entity != kept && entity.getNormalizedEmail() == null)
+                    .map(UserProfileEntity::getId)
+                    .toList();
+            if (!duplicateIds.isEmpty()) {
+                log.warn("User profiles {} have the email {} of user profile {} with another case or spacing:"
+                        + " not found by email until merged", duplicateIds, normalizedEmail, kept.getId());
+                skippedIds.addAll(duplicateIds);
+            }
+        });
+
+        int backfilled = skippedIds.isEmpty()
+                ? jpaUserProfileSpringDataRepository.backfillNormalizedEmails()
+                : jpaUserProfileSpringDataRepository.backfillNormalizedEmailsExcept(skippedIds);
+        if (backfilled > 0) {
+            log.info("Normalized the email of {} user profiles", backfilled);
+        }
+        return backfilled;
+    }
+
+    /**
+     * Re-indexes the profiles of the changes recorded since the last refresh, whichever instance wrote them, their
+     * current state being loaded by id. That state also replaces the one cached under their email, and the profiles
+     * cached under the email they had before are evicted. The changes of this instance, already applied, are applied
+     * again.
+     */
+    synchronized void refreshSearchIndex() {
+        try {
+            List<UserProfileChange> changes;
+            do {
+                changes = findChangesAfter(searchIndexCursor, SEARCH_INDEX_LOAD_BATCH_SIZE);
+                if (changes.isEmpty()) {
+                    return;
+                }
+                changes.stream()
+                        .filter(change -> change.previousEmail() != null)
+                        .forEach(change -> evict(change.previousEmail(), change.userProfileId()));
+                Set<Long> ids = changes.stream().map(UserProfileChange::userProfileId).collect(Collectors.toSet());
+                jpaUserProfileSpringDataRepository.findAllById(ids).forEach(entity -> {
+                    index(entity);
+                    refreshCached(entity);
+                });
+                searchIndexCursor = changes.get(changes.size() - 1).id();
+            } while (changes.size() == SEARCH_INDEX_LOAD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            // Kept scheduled: the next refresh catches up from the same position
+            log.warn("Failed to refresh the user profile search index", e);
+        }
+    }
 
+    /**
+     * Saves the profile and records its change in the same transaction.
+     */
     @Override
     public UserProfile save(UserProfile userProfile) {
         UserProfileEntity userProfileEntity = userProfileEntityMapper.toEntity(userProfile);
 
-        return userProfileEntityMapper.toDomain(
-                jpaUserProfileSpringDataRepository.save(userProfileEntity)
-        );
+        UserProfileEntity savedEntity = transactionTemplate.execute(status -> {
+            // The previous email of an update is read before it is overwritten, a new profile recorded once inserted
+            if (userProfile.id() != null) {
+                recordChange(userProfile.id(), userProfileEntity.getNormalizedEmail());
+            }
+            UserProfileEntity entity = jpaUserProfileSpringDataRepository.saveAndFlush(userProfileEntity);
+            if (userProfile.id() == null) {
+                recordChange(entity.getId(), entity.getNormalizedEmail());
+            }
+            return entity;
+        });
+        index(savedEntity);
+        UserProfile savedUserProfile = userProfileEntityMapper.toDomain(savedEntity);
+        if (userProfile.id() != null) {
+            evictPreviousEmail(savedEntity.getNormalizedEmail(), savedUserProfile.id());
+        }
+        cache(savedEntity.getNormalizedEmail(), savedUserProfile);
+        return savedUserProfile;
     }
 
+    /**
+     * Records the change of the profile, which tells through the affected row count whether the profile exists, then
+     * updates it with one {@code UPDATE} by id: no select, where {@code save} of a detached entity selects it first to
+     * merge it.
+     */
+    @Override
+    public Optional<UserProfile> update(UserProfile userProfile) {
+        String normalizedEmail = UserProfileEntity.normalizeEmail(userProfile.email());
+        boolean updated = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (recordChange(userProfile.id(), normalizedEmail) == 0) {
+                return false;
+            }
+            jpaUserProfileSpringDataRepository.updateById(userProfile.id(), userProfile.email(), normalizedEmail,
+                    userProfile.firstName(), userProfile.lastName(), userProfile.birthDate());
+            return true;
+        }));
+        if (!updated) {
+            return Optional.empty();
+        }
+
+        searchIndex.put(userProfile.id(), userProfile.firstName(), userProfile.lastName(), userProfile.email());
+        evictPreviousEmail(normalizedEmail, userProfile.id());
+        cache(normalizedEmail, userProfile);
+        return Optional.of(userProfile);
+    }
+
+    /**
+     * Loads the profiles of the batch already stored, by chunks of emails, and updates them; the others are persisted
+     * with pooled ids. Inserts and updates are then flushed by JDBC batches and their changes recorded by chunks of
+     * emails; the search index and the cache are updated once the transaction is committed.
+     */
+    @Override
+    public int upsertAllByEmail(List<UserProfile> userProfiles) {
+        Map<String, UserProfileEntity> entities = new HashMap<>();
+        Integer created = transactionTemplate.execute(status -> {
+            List<String> normalizedEmails = userProfiles.stream()
+                    .map(userProfile -> UserProfileEntity.normalizeEmail(userProfile.email()))
+                    .distinct()
+                    .toList();
+            for (int from = 0; from < normalizedEmails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+                jpaUserProfileSpringDataRepository.findByNormalizedEmailIn(normalizedEmails.subList(from,
+                                Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, normalizedEmails.size())))
+                        .forEach(entity -> entities.put(entity.getNormalizedEmail(), entity));
+            }
+
+            List<UserProfileEntity> newEntities = new ArrayList<>();
+            for (UserProfile userProfile : userProfiles) {
+                UserProfileEntity entity = entities.get(UserProfileEntity.normalizeEmail(userProfile.email()));
+                if (entity == null) {
+                    entity = userProfileEntityMapper.toEntity(userProfile);
+                    entities.put(entity.getNormalizedEmail(), entity);
+                    newEntities.add(entity);
+                } else {
+                    entity.setEmail(userProfile.email());
+                    entity.setFirstName(userProfile.firstName());
+                    entity.setLastName(userProfile.lastName());
+                    entity.setBirthDate(userProfile.birthDate());
+                }
+            }
+            jpaUserProfileSpringDataRepository.saveAll(newEntities);
+            jpaUserProfileSpringDataRepository.flush();
+            Instant changedAt = Instant.now();
+            for (int from = 0; from < normalizedEmails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+                changeRepository.recordChanges(normalizedEmails.subList(from,
+                        Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, normalizedEmails.size())), changedAt);
+            }
+            return newEntities.size();
+        });
+
+        entities.values().forEach(entity -> {
+            index(entity);
+            cache(entity.getNormalizedEmail(), userProfileEntityMapper.toDomain(entity));
+        });
+        return created;
+    }
+
+    /**
+     * Best matches of the query from the search index, the page of profiles being then loaded by primary key.
+     */
     @Override
     public List<UserProfile> search(SearchCriteria criteria) {
-        return userProfileEntityMapper.toDomain(
-                jpaUserProfileSpringDataRepository.findByFirstNameOrLastName(criteria.query())
-        );
+        int offset = (int) Math.min((long) criteria.page() * criteria.size(), UserProfileSearchIndex.MAX_RESULTS);
+        List<Long> ids = searchIndex.search(criteria.query(), offset, criteria.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, UserProfileEntity> entities = jpaUserProfileSpringDataRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(UserProfileEntity::getId, Function.identity()));
+        return ids.stream()
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .map(userProfileEntityMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<UserProfile> browse(BrowseCriteria criteria) {
+        return userProfileEntityMapper.toDomain(jpaUserProfileSpringDataRepository.findByIdGreaterThanOrderByIdAsc(
+                criteria.afterId(), Limit.of(criteria.size())));
+    }
+
+    /**
+     * Reads the profiles from a database cursor, within a read-only transaction held until the last one is consumed.
+     */
+    @Override
+    public void exportAll(Consumer<UserProfile> consumer) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<UserProfileEntity> entities = jpaUserProfileSpringDataRepository.streamAllByOrderByIdAsc()) {
+                entities.map(userProfileEntityMapper::toDomain).forEach(consumer);
+            }
+        });
     }
 
     @Override
@@ -38,16 +323,143 @@ public class JPAUserProfileRepository implements UserProfileRepository {
                 .map(userProfileEntityMapper::toDomain);
     }
 
+    /**
+     * Passes the cached profiles to {@code consumer} first, then looks up the other normalized emails by chunks of
+     * {@link #EMAIL_LOOKUP_CHUNK_SIZE}, queried in parallel; each chunk is cached and passed to {@code consumer}, on
+     * the calling thread, as soon as it is read.
+     */
     @Override
-    public List<UserProfile> findByEmailIn(List<String> emails) {
-        return userProfileEntityMapper.toDomain(
-                jpaUserProfileSpringDataRepository.findByEmailIn(emails)
-        );
+    public void findByEmailIn(List<String> emails, Consumer<List<UserProfile>> consumer) {
+        List<String> normalizedEmails = emails == null ? List.of() : emails.stream()
+                .filter(Objects::nonNull)
+                .map(UserProfileEntity::normalizeEmail)
+                .distinct()
+                .toList();
+        if (normalizedEmails.isEmpty()) {
+            return;
+        }
+
+        Map<String, UserProfile> cached = userProfileCache.getAllPresent(normalizedEmails);
+        if (!cached.isEmpty()) {
+            consumer.accept(List.copyOf(cached.values()));
+        }
+        List<String> missingEmails = cached.isEmpty() ? normalizedEmails : normalizedEmails.stream()
+                .filter(email -> !cached.containsKey(email))
+                .toList();
+        findByChunks(missingEmails, consumer);
+    }
+
+    private void findByChunks(List<String> normalizedEmails, Consumer<List<UserProfile>> consumer) {
+        if (normalizedEmails.isEmpty()) {
+            return;
+        }
+        if (normalizedEmails.size() <= EMAIL_LOOKUP_CHUNK_SIZE) {
+            consumer.accept(findByNormalizedEmailIn(normalizedEmails));
+            return;
+        }
+
+        CompletionService<List<UserProfile>> chunks = new ExecutorCompletionService<>(emailLookupExecutor);
+        List<Future<List<UserProfile>>> lookups = new ArrayList<>();
+        try {
+            for (int from = 0; from < normalizedEmails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+                List<String> chunk = normalizedEmails.subList(from,
+                        Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, normalizedEmails.size()));
+                lookups.add(chunks.submit(() -> findByNormalizedEmailIn(chunk)));
+            }
+            for (int i = 0; i < lookups.size(); i++) {
+                consumer.accept(chunks.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while looking up user profiles by email", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new IllegalStateException("Failed to look up user profiles by email", e.getCause());
+        } finally {
+            lookups.forEach(lookup -> lookup.cancel(true));
+        }
     }
 
     @Override
     public Optional<UserProfile> findByEmail(String email) {
-        return jpaUserProfileSpringDataRepository.findByEmail(email)
-                .map(userProfileEntityMapper::toDomain);
+        // Unknown emails are not cached: the profile may be created through another instance
+        return Optional.ofNullable(userProfileCache.get(UserProfileEntity.normalizeEmail(email),
+                normalizedEmail -> jpaUserProfileSpringDataRepository.findByNormalizedEmail(normalizedEmail)
+                        .map(entity -> {
+                            userProfileEmailCache.put(entity.getId(), normalizedEmail);
+                            return userProfileEntityMapper.toDomain(entity);
+                        })
+                        .orElse(null)));
+    }
+
+    /**
+     * Changes old enough for every transaction that took an earlier position to be committed.
+     */
+    @Override
+    public List<UserProfileChange> findChangesAfter(long cursor, int limit) {
+        return changeRepository.findByIdGreaterThanAndChangedAtLessThanEqualOrderByIdAsc(cursor,
+                        Instant.now().minus(changeFeedProperties.visibilityDelay()), Limit.of(limit)).stream()
+                .map(change -> new UserProfileChange(change.getId(), change.getUserProfileId(), change.getEmail(),
+                        change.getPreviousEmail(), change.getChangedAt()))
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdownExecutors() {
+        emailLookupExecutor.shutdownNow();
+        searchIndexRefresher.shutdownNow();
+    }
+
+    private List<UserProfile> findByNormalizedEmailIn(Collection<String> normalizedEmails) {
+        List<UserProfile> userProfiles = userProfileEntityMapper.toDomain(
+                jpaUserProfileSpringDataRepository.findByNormalizedEmailIn(normalizedEmails)
+        );
+        userProfiles.forEach(userProfile ->
+                cache(UserProfileEntity.normalizeEmail(userProfile.email()), userProfile));
+        return userProfiles;
+    }
+
+    private void cache(String normalizedEmail, UserProfile userProfile) {
+        userProfileEmailCache.put(userProfile.id(), normalizedEmail);
+        userProfileCache.put(normalizedEmail, userProfile);
+    }
+
+    /**
+     * Drops the entry of an updated profile cached under its previous email, found by id.
+     */
+    private void evictPreviousEmail(String normalizedEmail, Long id) {
+        String previousEmail = userProfileEmailCache.getIfPresent(id);
+        if (previousEmail != null && !previousEmail.equals(normalizedEmail)) {
+            evict(previousEmail, id);
+        }
+    }
+
+    /**
+     * Drops the entry cached under {@code normalizedEmail} if it still is the profile of the given id.
+     */
+    private void evict(String normalizedEmail, Long id) {
+        userProfileCache.asMap().computeIfPresent(normalizedEmail,
+                (email, cached) -> cached.id().equals(id) ? null : cached);
+    }
+
+    /**
+     * Replaces the state cached under the email of the profile, if it is cached there; the others are left to be
+     * loaded when first looked up.
+     */
+    private void refreshCached(UserProfileEntity entity) {
+        if (entity.getNormalizedEmail() == null) {
+            return;
+        }
+        userProfileCache.asMap().computeIfPresent(entity.getNormalizedEmail(),
+                (email, cached) -> cached.id().equals(entity.getId()) ? userProfileEntityMapper.toDomain(entity) : cached);
+    }
+
+    private int recordChange(Long id, String normalizedEmail) {
+        return changeRepository.recordChange(id, normalizedEmail, Instant.now());
+    }
+
+    private void index(UserProfileEntity entity) {
+        searchIndex.put(entity.getId(), entity.getFirstName(), entity.getLastName(), entity.getEmail());
     }
 }
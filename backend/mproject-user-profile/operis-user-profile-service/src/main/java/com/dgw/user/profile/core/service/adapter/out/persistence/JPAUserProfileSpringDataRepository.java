@@ -1,20 +1,85 @@
 package com.dgw.user.profile.core.service.adapter.out.persistence;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JPAUserProfileSpringDataRepository extends JpaRepository<UserProfileEntity, Long> {
+    /**
+     * Rows read per round trip by {@link #streamAllByOrderByIdAsc()}; on MySQL, a server-side cursor needs
+     * {@code useCursorFetch=true} on the URL.
+     */
+    int EXPORT_FETCH_SIZE = 500;
 
-    @Query("SELECT p FROM UserProfileEntity p WHERE p.firstName LIKE %:query% OR p.lastName LIKE %:query%")
-    List<UserProfileEntity> findByFirstNameOrLastName(@Param("query") String query);
+    List<UserProfileEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
-    List<UserProfileEntity> findByEmailIn(List<String> emails);
+    /**
+     * Every profile in id order, read from a database cursor by {@link #EXPORT_FETCH_SIZE} rows. Built by a constructor
+     * expression, the entities are not managed: the persistence context does not grow as the stream is read. To be
+     * consumed within a transaction, and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.dgw.user.profile.core.service.adapter.out.persistence.UserProfileEntity("
+            + "p.id, p.email, p.firstName, p.lastName, p.birthDate) FROM UserProfileEntity p ORDER BY p.id")
+    Stream<UserProfileEntity> streamAllByOrderByIdAsc();
 
-    Optional<UserProfileEntity> findByEmail(String email);
+    List<UserProfileEntity> findByNormalizedEmailIn(Collection<String> normalizedEmails);
+
+    Optional<UserProfileEntity> findByNormalizedEmail(String normalizedEmail);
+
+    /**
+     * Updates the profile of the given id without loading it first; {@code 0} when there is none.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserProfileEntity p SET p.email = :email, p.normalizedEmail = :normalizedEmail,"
+            + " p.firstName = :firstName, p.lastName = :lastName, p.birthDate = :birthDate WHERE p.id = :id")
+    int updateById(@Param("id") Long id, @Param("email") String email, @Param("normalizedEmail") String normalizedEmail,
+                   @Param("firstName") String firstName, @Param("lastName") String lastName,
+                   @Param("birthDate") LocalDate birthDate);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserProfileEntity p SET p.normalizedEmail = LOWER(TRIM(p.email)) WHERE p.normalizedEmail IS NULL")
+    int backfillNormalizedEmails();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserProfileEntity p SET p.normalizedEmail = LOWER(TRIM(p.email))"
+            + " WHERE p.normalizedEmail IS NULL AND p.id NOT IN :excludedIds")
+    int backfillNormalizedEmailsExcept(@Param("excludedIds") Collection<Long> excludedIds);
+
+    /**
+     * Profiles whose emails only differ by case or surrounding spaces, possible before the normalized email existed,
+     * in id order.
+     */
+    @Query("SELECT p FROM UserProfileEntity p WHERE LOWER(TRIM(p.email)) IN (SELECT LOWER(TRIM(q.email))"
+            + " FROM UserProfileEntity q GROUP BY LOWER(TRIM(q.email)) HAVING COUNT(q) > 1) ORDER BY p.id")
+    List<UserProfileEntity> findWithCollidingEmails();
+
+    /**
+     * Moves the id table past the existing ids, e.g. those generated by {@code IDENTITY} before it existed: the pooled
+     * optimizer hands out the {@code allocationSize} ids up to the value read.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE user_profile_seq"
+            + " SET next_val = (SELECT COALESCE(MAX(id), 0) FROM user_profile) + :allocationSize"
+            + " WHERE next_val < (SELECT COALESCE(MAX(id), 0) FROM user_profile) + :allocationSize",
+            nativeQuery = true)
+    int alignIdSequence(@Param("allocationSize") int allocationSize);
 }
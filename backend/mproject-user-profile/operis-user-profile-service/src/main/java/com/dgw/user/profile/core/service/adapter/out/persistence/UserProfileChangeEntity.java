@@ -0,0 +1,35 @@
+package com.dgw.user.profile.core.service.adapter.out.persistence;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outbox of the profile changes, written in the transaction of the change itself and tailed through the change feed.
+ * The {@code IDENTITY} id is the position in the feed: unlike pooled ids, it increases across instances.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "user_profile_change", indexes = {
+        @Index(name = "ix_user_profile_change_changed_at", columnList = "changed_at")
+})
+public class UserProfileChangeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userProfileId;
+
+    @Column(nullable = false)
+    private String email;
+
+    private String previousEmail;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,54 @@
+package com.dgw.user.profile.core.service.adapter.out.persistence;
+
+import com.dgw.user.profile.core.service.config.UserProfileChangeFeedProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes every hour the changes older than the retention of the change feed. Each instance purges, the delete being
+ * idempotent.
+ */
+@Component
+@Slf4j
+public class UserProfileChangeRetention {
+    private static final Duration PURGE_PERIOD = Duration.ofHours(1);
+
+    private final JPAUserProfileChangeSpringDataRepository changeRepository;
+    private final Duration retention;
+    private final ScheduledExecutorService purgeScheduler;
+
+    public UserProfileChangeRetention(JPAUserProfileChangeSpringDataRepository changeRepository,
+                                      UserProfileChangeFeedProperties properties) {
+        this.changeRepository = changeRepository;
+        this.retention = properties.retention();
+        this.purgeScheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("user-profile-change-purge-"));
+        purgeScheduler.scheduleWithFixedDelay(this::purge, PURGE_PERIOD.toMinutes(), PURGE_PERIOD.toMinutes(),
+                TimeUnit.MINUTES);
+    }
+
+    void purge() {
+        try {
+            int deleted = changeRepository.deleteByChangedAtBefore(Instant.now().minus(retention));
+            if (deleted > 0) {
+                log.info("Deleted {} user profile changes older than {}", deleted, retention);
+            }
+        } catch (RuntimeException e) {
+            // Kept scheduled: the next purge catches up
+            log.warn("Failed to delete the old user profile changes", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        purgeScheduler.shutdownNow();
+    }
+}
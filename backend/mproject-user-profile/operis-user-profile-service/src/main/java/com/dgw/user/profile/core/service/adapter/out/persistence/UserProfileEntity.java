@@ -1,25 +1,49 @@
 package com.dgw.user.profile.core.service.adapter.out.persistence;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.Locale;
 
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "user_profile")
+@Table(name = "user_profile", indexes = {
+        @Index(name = "ux_user_profile_normalized_email", columnList = "normalized_email", unique = true)
+})
 public class UserProfileEntity {
+    /**
+     * Ids reserved per round trip to the id table. Unlike {@code IDENTITY} ids, known before the insert, so that
+     * inserts are batched.
+     */
+    public static final int ID_ALLOCATION_SIZE = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "user_profile_seq")
+    @GenericGenerator(name = "user_profile_seq", type = SequenceStyleGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "user_profile_seq"),
+            // A table on every database, so that it can be aligned on existing ids the same way
+            @Parameter(name = SequenceStyleGenerator.FORCE_TBL_PARAM, value = "true"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled")
+    })
     private Long id;
 
     @Column(nullable = false)
     private String email;
 
+    /**
+     * Lookup key of the email, trimmed and in lower case. Nullable in the schema so that the column can be added to
+     * an existing table; filled on every write and backfilled at startup.
+     */
+    @Column(name = "normalized_email")
+    private String normalizedEmail;
+
     @Column(nullable = false)
     private String firstName;
 
@@ -27,4 +51,23 @@ public class UserProfileEntity {
     private String lastName;
 
     private LocalDate birthDate;
+
+    public UserProfileEntity(Long id, String email, String firstName, String lastName, LocalDate birthDate) {
+        this.id = id;
+        this.email = email;
+        this.normalizedEmail = normalizeEmail(email);
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.birthDate = birthDate;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeEmail() {
+        normalizedEmail = normalizeEmail(email);
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,314 @@
+package com.dgw.user.profile.core.service.adapter.out.persistence.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory n-gram index over the names and email of the user profiles, serving the member-picker autocomplete
+ * without scanning the {@code user_profile} table.
+ * <p>
+ * Each profile is a document whose text is its normalized (lower case, without accents) first name, last name and
+ * local part of the email, the domain being shared by too many profiles to tell them apart. Query terms of three
+ * characters or more are looked up through trigrams, so they match anywhere in a field like the
+ * {@code LIKE '%query%'} this index replaces; shorter terms through the first one or two characters of each word, so
+ * they only match the start of a word. The smallest posting list of the query gives the candidates, each one checked
+ * and scored against its text: whole field first, then start of a word, then anywhere. Only the best
+ * {@link #MAX_RESULTS} can be reached through pagination.
+ * <p>
+ * The index holds ids and normalized text only, and is kept up to date through {@link #put} with the profiles
+ * created or updated through any instance.
+ */
+public class UserProfileSearchIndex {
+
+    /**
+     * Deepest result reachable through pagination.
+     */
+    public static final int MAX_RESULTS = 1_000;
+
+    private static final char FIELD_SEPARATOR = '\u0001';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    private static final int TRIGRAM_LENGTH = 3;
+    private static final int EXACT_SCORE = 3;
+    private static final int WORD_PREFIX_SCORE = 2;
+    private static final int SUBSTRING_SCORE = 1;
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(Hit::text)
+            .thenComparingInt(Hit::document);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> documents = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private long[] ids = new long[1024];
+    private String[] texts = new String[1024];
+    private int size;
+
+    /**
+     * Adds a profile to the index, or replaces what was indexed for it.
+     */
+    public void put(long id, String firstName, String lastName, String email) {
+        String text = normalize(firstName) + FIELD_SEPARATOR + normalize(lastName)
+                + FIELD_SEPARATOR + normalize(localPart(email));
+        lock.writeLock().lock();
+        try {
+            Integer document = documents.get(id);
+            if (document == null) {
+                document = newDocument(id, text);
+                for (long gram : grams(text)) {
+                    postings.computeIfAbsent(gram, key -> new IntList()).add(document);
+                }
+            } else {
+                Set<Long> previousGrams = grams(texts[document]);
+                Set<Long> grams = grams(text);
+                for (long gram : previousGrams) {
+                    if (!grams.contains(gram)) {
+                        IntList posting = postings.get(gram);
+                        posting.remove(document);
+                        if (posting.size == 0) {
+                            postings.remove(gram);
+                        }
+                    }
+                }
+                for (long gram : grams) {
+                    if (!previousGrams.contains(gram)) {
+                        postings.computeIfAbsent(gram, key -> new IntList()).add(document);
+                    }
+                }
+                texts[document] = text;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the profiles matching every term of the query, best match first.
+     *
+     * @param offset number of best matches to skip
+     * @param limit  maximum number of ids returned
+     */
+    public List<Long> search(String query, int offset, int limit) {
+        String[] terms = terms(query);
+        if (terms.length == 0 || limit <= 0 || offset >= MAX_RESULTS) {
+            return List.of();
+        }
+        int window = Math.min(offset + limit, MAX_RESULTS);
+
+        lock.readLock().lock();
+        try {
+            IntList candidates = null;
+            for (String term : terms) {
+                IntList termCandidates = candidates(term);
+                if (termCandidates == null) {
+                    return List.of();
+                }
+                if (candidates == null || termCandidates.size < candidates.size) {
+                    candidates = termCandidates;
+                }
+            }
+
+            // The worst of the best hits so far at the head, to be evicted by a better one
+            PriorityQueue<Hit> best = new PriorityQueue<>(window + 1, RANKING.reversed());
+            for (int i = 0; i < candidates.size; i++) {
+                int document = candidates.values[i];
+                int score = score(texts[document], terms);
+                if (score == 0 || best.size() == window && score < best.peek().score()) {
+                    continue;
+                }
+                Hit hit = new Hit(document, score, texts[document]);
+                if (best.size() < window) {
+                    best.add(hit);
+                } else if (RANKING.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(RANKING);
+            List<Long> page = new ArrayList<>(limit);
+            for (int i = offset; i < hits.size(); i++) {
+                page.add(ids[hits.get(i).document()]);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int newDocument(long id, String text) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            texts = Arrays.copyOf(texts, size * 2);
+        }
+        ids[size] = id;
+        texts[size] = text;
+        documents.put(id, size);
+        return size++;
+    }
+
+    /**
+     * Smallest posting list containing every document that may match the term, {@code null} when none can.
+     */
+    private IntList candidates(String term) {
+        if (term.length() < TRIGRAM_LENGTH) {
+            return postings.get(prefixGram(term.charAt(0), term.length() > 1 ? term.charAt(1) : FIELD_SEPARATOR));
+        }
+        IntList smallest = null;
+        for (int i = 0; i + TRIGRAM_LENGTH <= term.length(); i++) {
+            IntList posting = postings.get(trigram(term.charAt(i), term.charAt(i + 1), term.charAt(i + 2)));
+            if (posting == null) {
+                return null;
+            }
+            if (smallest == null || posting.size < smallest.size) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    private static int score(String text, String[] terms) {
+        int total = 0;
+        for (String term : terms) {
+            int score = score(text, term);
+            if (score == 0) {
+                return 0;
+            }
+            total += score;
+        }
+        return total;
+    }
+
+    private static int score(String text, String term) {
+        int best = 0;
+        for (int at = text.indexOf(term); at >= 0; at = text.indexOf(term, at + 1)) {
+            if (at > 0 && !isWordSeparator(text.charAt(at - 1))) {
+                if (term.length() >= TRIGRAM_LENGTH) {
+                    best = Math.max(best, SUBSTRING_SCORE);
+                }
+                continue;
+            }
+            int end = at + term.length();
+            boolean fieldStart = at == 0 || text.charAt(at - 1) == FIELD_SEPARATOR;
+            boolean fieldEnd = end == text.length() || text.charAt(end) == FIELD_SEPARATOR;
+            if (fieldStart && fieldEnd) {
+                return EXACT_SCORE;
+            }
+            best = WORD_PREFIX_SCORE;
+        }
+        return best;
+    }
+
+    /**
+     * Trigrams of each field, and the one and two first characters of each word.
+     */
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isBlank(c)) {
+                continue;
+            }
+            if (i == 0 || isWordSeparator(text.charAt(i - 1))) {
+                grams.add(prefixGram(c, FIELD_SEPARATOR));
+                if (i + 1 < text.length() && !isBlank(text.charAt(i + 1))) {
+                    grams.add(prefixGram(c, text.charAt(i + 1)));
+                }
+            }
+            if (i + TRIGRAM_LENGTH <= text.length() && !isBlank(text.charAt(i + 1)) && !isBlank(text.charAt(i + 2))) {
+                grams.add(trigram(c, text.charAt(i + 1), text.charAt(i + 2)));
+            }
+        }
+        return grams;
+    }
+
+    private static long trigram(char first, char second, char third) {
+        return (long) first << 32 | (long) second << 16 | third;
+    }
+
+    /**
+     * Start of a word, {@code second} being {@link #FIELD_SEPARATOR} for a single character, kept apart from trigrams.
+     */
+    private static long prefixGram(char first, char second) {
+        return 1L << 48 | (long) first << 16 | second;
+    }
+
+    private static boolean isBlank(char c) {
+        return c == FIELD_SEPARATOR || Character.isWhitespace(c);
+    }
+
+    private static boolean isWordSeparator(char c) {
+        return isBlank(c) || c == '-' || c == '\'';
+    }
+
+    private static String localPart(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        return at < 0 ? email : email.substring(0, at);
+    }
+
+    private static String[] terms(String query) {
+        String normalized = normalize(query).strip();
+        return normalized.isEmpty() ? new String[0] : WHITESPACES.split(normalized);
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .replace(FIELD_SEPARATOR, ' ');
+    }
+
+    private record Hit(int document, int score, String text) {
+    }
+
+    /**
+     * Unordered posting list of document numbers.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
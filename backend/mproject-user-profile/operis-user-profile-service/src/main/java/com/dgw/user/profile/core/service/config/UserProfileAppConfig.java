@@ -4,10 +4,12 @@ import com.dgw.user.profile.core.application.adapter.in.UserProfileService;
 import com.dgw.user.profile.core.application.port.in.UserProfileUseCases;
 import com.dgw.user.profile.core.application.port.out.persistence.UserProfileRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(UserProfileChangeFeedProperties.class)
 public class UserProfileAppConfig {
 
     @Autowired
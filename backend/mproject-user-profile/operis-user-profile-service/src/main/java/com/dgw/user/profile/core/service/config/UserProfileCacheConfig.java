@@ -0,0 +1,44 @@
+package com.dgw.user.profile.core.service.config;
+
+import com.dgw.user.profile.core.application.model.UserProfile;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(UserProfileCacheProperties.class)
+public class UserProfileCacheConfig {
+
+    public static final String CACHE_NAME = "user-profiles";
+
+    /**
+     * Profiles by normalized email, with the {@code cache.gets} (hit / miss), {@code cache.size} and
+     * {@code cache.evictions} metrics.
+     */
+    @Bean
+    public Cache<String, UserProfile> userProfileCache(UserProfileCacheProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        Cache<String, UserProfile> cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Normalized email each profile is cached under, by id, bounded like the profile cache: an update then evicts the
+     * entry of the previous email without scanning the cache.
+     */
+    @Bean
+    public Cache<Long, String> userProfileEmailCache(UserProfileCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.dgw.user.profile.core.service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Read-through cache of the profiles by email. {@code ttl} bounds how long a profile changed through another instance
+ * can be served stale; a {@code maximum-size} of 0 disables the cache.
+ */
+@ConfigurationProperties(prefix = "user-profile.cache")
+public record UserProfileCacheProperties(@DefaultValue("100000") long maximumSize,
+                                         @DefaultValue("10m") Duration ttl) {
+}
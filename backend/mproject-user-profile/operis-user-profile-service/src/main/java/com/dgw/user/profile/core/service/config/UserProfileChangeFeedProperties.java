@@ -0,0 +1,25 @@
+package com.dgw.user.profile.core.service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Change feed of the profiles. A change is only served once {@code visibility-delay} old: its position is taken when
+ * it is written, and a transaction still running with an earlier position would otherwise be skipped by the consumers
+ * past it. The delay must exceed the longest write transaction (an import batch) plus the clock skew between
+ * instances.
+ *
+ * @param longPollTimeout time a request waits for a change before returning none
+ * @param pollInterval    time between two reads of the new changes while requests wait
+ * @param retention       age of the changes deleted, bounding how long a consumer can stay away
+ * @param searchIndexRefreshInterval time between two reads of the new changes into the search index of each instance
+ */
+@ConfigurationProperties(prefix = "user-profile.change-feed")
+public record UserProfileChangeFeedProperties(@DefaultValue("2s") Duration visibilityDelay,
+                                              @DefaultValue("25s") Duration longPollTimeout,
+                                              @DefaultValue("500ms") Duration pollInterval,
+                                              @DefaultValue("7d") Duration retention,
+                                              @DefaultValue("1s") Duration searchIndexRefreshInterval) {
+}
@@ -1,19 +0,0 @@
-package com.dgw.user.profile.core.service.config;
-
-import com.dgw.user.profile.core.service.interceptor.MDCUserProfileCorrelationIdInterceptor;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-@Configuration
-public class WebMvcConfig implements WebMvcConfigurer {
-
-    @Autowired
-    private MDCUserProfileCorrelationIdInterceptor correlationIdInterceptor;
-
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(correlationIdInterceptor);
-    }
-}
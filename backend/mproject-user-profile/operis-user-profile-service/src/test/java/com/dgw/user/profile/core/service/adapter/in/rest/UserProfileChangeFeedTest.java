@@ -0,0 +1,94 @@
+package com.dgw.user.profile.core.service.adapter.in.rest;
+
+import com.dgw.user.profile.core.application.model.UserProfileChange;
+import com.dgw.user.profile.core.application.port.in.UserProfileUseCases;
+import com.dgw.user.profile.core.service.adapter.in.rest.mappers.UserProfileMapper;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.UserProfileChangesDto;
+import com.dgw.user.profile.core.service.config.UserProfileChangeFeedProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserProfileChangeFeedTest {
+
+    private static final Instant CHANGED_AT = Instant.parse("2024-06-01T10:00:00Z");
+
+    private final UserProfileUseCases userProfileUseCases = mock(UserProfileUseCases.class);
+    // Polls completed by the test only
+    private final UserProfileChangeFeed changeFeed = new UserProfileChangeFeed(userProfileUseCases,
+            new UserProfileMapper(), new UserProfileChangeFeedProperties(Duration.ZERO, Duration.ofMinutes(1),
+            Duration.ofHours(1), Duration.ofDays(7), Duration.ofSeconds(1)));
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    void shouldReturnChangesAlreadyWritten() {
+        // GIVEN
+        when(userProfileUseCases.findChangesAfter(10, 2)).thenReturn(List.of(change(11), change(12)));
+
+        // WHEN
+        DeferredResult<UserProfileChangesDto> result = changeFeed.changesAfter(10, 2);
+
+        // THEN
+        assertThat(result.getResult()).isEqualTo(new UserProfileChangesDto(12, List.of(dto(11), dto(12))));
+    }
+
+    @Test
+    void shouldCompleteWaitingPollsWithOneReadOfTheNewChanges() {
+        // GIVEN
+        when(userProfileUseCases.findChangesAfter(10, 100)).thenReturn(List.of());
+        when(userProfileUseCases.findChangesAfter(12, 1)).thenReturn(List.of());
+        DeferredResult<UserProfileChangesDto> behind = changeFeed.changesAfter(10, 100);
+        DeferredResult<UserProfileChangesDto> ahead = changeFeed.changesAfter(12, 1);
+        changeFeed.completePolls();
+        when(userProfileUseCases.findChangesAfter(10, UserProfileChangeFeed.MAX_CHANGES_PER_POLL))
+                .thenReturn(List.of(change(11), change(12)));
+
+        // WHEN
+        changeFeed.completePolls();
+
+        // THEN
+        assertThat(behind.getResult()).isEqualTo(new UserProfileChangesDto(12, List.of(dto(11), dto(12))));
+        assertThat(ahead.hasResult()).isFalse();
+        verify(userProfileUseCases, times(2)).findChangesAfter(10, UserProfileChangeFeed.MAX_CHANGES_PER_POLL);
+    }
+
+    @Test
+    void shouldBringTheLimitWithinBoundsBeforeWaiting() {
+        // GIVEN
+        when(userProfileUseCases.findChangesAfter(10, 1)).thenReturn(List.of());
+        when(userProfileUseCases.findChangesAfter(10, UserProfileChangeFeed.MAX_CHANGES_PER_POLL)).thenReturn(List.of());
+        DeferredResult<UserProfileChangesDto> negative = changeFeed.changesAfter(10, -1);
+        DeferredResult<UserProfileChangesDto> tooLarge = changeFeed.changesAfter(10, Integer.MAX_VALUE);
+        when(userProfileUseCases.findChangesAfter(10, UserProfileChangeFeed.MAX_CHANGES_PER_POLL))
+                .thenReturn(List.of(change(11), change(12)));
+
+        // WHEN
+        changeFeed.completePolls();
+
+        // THEN
+        assertThat(negative.getResult()).isEqualTo(new UserProfileChangesDto(11, List.of(dto(11))));
+        assertThat(tooLarge.getResult()).isEqualTo(new UserProfileChangesDto(12, List.of(dto(11), dto(12))));
+    }
+
+    private static UserProfileChange change(long id) {
+        return new UserProfileChange(id, 100L + id, "member" + id + "@corp.com", null, CHANGED_AT);
+    }
+
+    private static UserProfileChangesDto.Change dto(long id) {
+        return new UserProfileChangesDto.Change(id, 100L + id, "member" + id + "@corp.com", null, CHANGED_AT);
+    }
+}
@@ -1,24 +1,51 @@
 package com.dgw.user.profile.core.service.adapter.in.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dgw.user.profile.core.application.model.BrowseCriteria;
+import com.dgw.user.profile.core.application.model.ImportError;
+import com.dgw.user.profile.core.application.model.ImportReport;
+import com.dgw.user.profile.core.application.model.ImportRow;
 import com.dgw.user.profile.core.application.model.UserProfile;
 import com.dgw.user.profile.core.application.port.in.UserProfileUseCases;
+import com.dgw.user.profile.core.service.adapter.in.rest.mappers.BrowseCriteriaMapper;
+import com.dgw.user.profile.core.service.adapter.in.rest.mappers.ImportRowMapper;
 import com.dgw.user.profile.core.service.adapter.in.rest.mappers.SearchCriteriaMapper;
 import com.dgw.user.profile.core.service.adapter.in.rest.mappers.UserProfileMapper;
 import com.dgw.user.profile.core.service.adapter.in.rest.model.CreateUserProfilePayload;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.GetUserProfilesFromEmailsPayload;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.UpdateUserProfilePayload;
+import com.dgw.user.profile.core.service.adapter.in.rest.model.UserProfileChangesDto;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static java.time.LocalDate.of;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserProfileController.class)
@@ -36,6 +63,15 @@ class UserProfileControllerTest {
     @SpyBean
     private SearchCriteriaMapper searchCriteriaMapper;
 
+    @SpyBean
+    private BrowseCriteriaMapper browseCriteriaMapper;
+
+    @SpyBean
+    private ImportRowMapper importRowMapper;
+
+    @MockBean
+    private UserProfileChangeFeed userProfileChangeFeed;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -60,6 +96,269 @@ class UserProfileControllerTest {
                     // Then
                     .andExpect(status().isCreated());
         }
+
+        @Test
+        void shouldRejectAnEmailAlreadyUsedWithAnotherCase() throws Exception {
+            // Given
+            CreateUserProfilePayload createUserProfile = new CreateUserProfilePayload(
+                    "Imad.Test@gmail.com", "Imad", "Bou Akl", of(2024, 1, 1));
+            when(userProfileUseCases.save(any(UserProfile.class))).thenThrow(duplicateNormalizedEmail());
+
+            // When
+            mockMvc.perform(post("/api/user-profiles")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createUserProfile)))
+                    // Then
+                    .andExpect(status().isConflict())
+                    .andExpect(content().json("""
+                            {"statusCode": 409, "httpStatus": "CONFLICT",
+                             "message": "A user profile already exists with this email."}
+                            """, true));
+        }
+
+        @Test
+        void shouldRejectAnUpdateToTheEmailOfAnotherProfile() throws Exception {
+            // Given
+            UpdateUserProfilePayload updateUserProfile = new UpdateUserProfilePayload(
+                    2L, "IMAD.TEST@gmail.com", "Ronald", "Polanco", null);
+            when(userProfileUseCases.save(any(UserProfile.class))).thenThrow(duplicateNormalizedEmail());
+
+            // When
+            mockMvc.perform(put("/api/user-profiles")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateUserProfile)))
+                    // Then
+                    .andExpect(status().isConflict())
+                    .andExpect(content().json("""
+                            {"statusCode": 409, "httpStatus": "CONFLICT",
+                             "message": "A user profile already exists with this email."}
+                            """, true));
+        }
+
+        private static DataIntegrityViolationException duplicateNormalizedEmail() {
+            return new DataIntegrityViolationException("could not execute statement",
+                    new SQLIntegrityConstraintViolationException(
+                            "Duplicate entry 'imad.test@gmail.com' for key 'user_profile.ux_user_profile_normalized_email'"));
+        }
+    }
+
+    @Nested
+    class Import {
+        @Test
+        void shouldImportTheRowsOfACsvFile() throws Exception {
+            // Given
+            String csv = """
+                    lastName,firstName,email,birthDate
+                    "Bou Akl",Imad,imad.test@gmail.com,1983-01-01
+
+                    "Polanco, Jr",Ronald,ronald.test@gmail.com,01/01/1980
+                    """;
+            List<ImportRow> rows = new ArrayList<>();
+            when(userProfileUseCases.importProfiles(any())).thenAnswer(invocation -> {
+                Stream<ImportRow> importRows = invocation.getArgument(0);
+                importRows.forEach(rows::add);
+                return new ImportReport(1, 0, 1, List.of(new ImportError(4, "Invalid birth date: 01/01/1980")));
+            });
+
+            // When
+            mockMvc.perform(post("/api/user-profiles/import")
+                            .contentType("text/csv")
+                            .content(csv))
+                    // Then
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("""
+                            {"created": 1, "updated": 0, "rejected": 1,
+                             "errors": [{"line": 4, "message": "Invalid birth date: 01/01/1980"}]}
+                            """, true));
+
+            // And
+            assertThat(rows).containsExactly(
+                    ImportRow.valid(2, new UserProfile(null, "imad.test@gmail.com", "Imad", "Bou Akl", of(1983, 1, 1))),
+                    ImportRow.invalid(4, "Invalid birth date: 01/01/1980"));
+        }
+
+        @Test
+        void shouldReadQuotedFieldsSpanningSeveralLines() throws Exception {
+            // Given
+            String csv = """
+                    email,firstName,lastName
+                    imad.test@gmail.com,Imad,"Bou
+                    Akl ""Junior""\"
+                    ronald.test@gmail.com,Ronald,Polanco
+                    """;
+            List<ImportRow> rows = new ArrayList<>();
+            when(userProfileUseCases.importProfiles(any())).thenAnswer(invocation -> {
+                Stream<ImportRow> importRows = invocation.getArgument(0);
+                importRows.forEach(rows::add);
+                return new ImportReport(2, 0, 0, List.of());
+            });
+
+            // When
+            mockMvc.perform(post("/api/user-profiles/import")
+                            .contentType("text/csv")
+                            .content(csv))
+                    // Then
+                    .andExpect(status().isOk());
+
+            // And
+            assertThat(rows).containsExactly(
+                    ImportRow.valid(2, new UserProfile(null, "imad.test@gmail.com", "Imad", "Bou\nAkl \"Junior\"", null)),
+                    ImportRow.valid(4, new UserProfile(null, "ronald.test@gmail.com", "Ronald", "Polanco", null)));
+        }
+
+        @Test
+        void shouldRejectEveryRowWhenARequiredColumnIsMissing() throws Exception {
+            // Given
+            List<ImportRow> rows = new ArrayList<>();
+            when(userProfileUseCases.importProfiles(any())).thenAnswer(invocation -> {
+                Stream<ImportRow> importRows = invocation.getArgument(0);
+                importRows.forEach(rows::add);
+                return new ImportReport(0, 0, rows.size(), List.of());
+            });
+
+            // When
+            mockMvc.perform(post("/api/user-profiles/import")
+                            .contentType("text/csv")
+                            .content("email,name\nimad.test@gmail.com,Imad\n"))
+                    // Then
+                    .andExpect(status().isOk());
+
+            // And
+            assertThat(rows).containsExactly(
+                    ImportRow.invalid(1, "Missing columns in the header: [firstname, lastname]"),
+                    ImportRow.invalid(2, "Missing columns in the header: [firstname, lastname]"));
+        }
+
+        @Test
+        void shouldImportNdjsonLines() throws Exception {
+            // Given
+            List<ImportRow> rows = new ArrayList<>();
+            when(userProfileUseCases.importProfiles(any())).thenAnswer(invocation -> {
+                Stream<ImportRow> importRows = invocation.getArgument(0);
+                importRows.forEach(rows::add);
+                return new ImportReport(1, 0, 1, List.of());
+            });
+
+            // When
+            mockMvc.perform(post("/api/user-profiles/import")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content("""
+                                    {"email": "imad.test@gmail.com", "firstName": "Imad", "lastName": "Bou Akl"}
+                                    {"email": "ronald.test@gmail.com",
+                                    """))
+                    // Then
+                    .andExpect(status().isOk());
+
+            // And
+            assertThat(rows).hasSize(2);
+            assertThat(rows.get(0)).isEqualTo(
+                    ImportRow.valid(1, new UserProfile(null, "imad.test@gmail.com", "Imad", "Bou Akl", null)));
+            assertThat(rows.get(1).line()).isEqualTo(2);
+            assertThat(rows.get(1).error()).startsWith("Invalid JSON");
+        }
+    }
+
+    @Nested
+    class FindByEmails {
+        @Test
+        void shouldStreamTheProfilesFoundBatchByBatch() throws Exception {
+            // Given
+            GetUserProfilesFromEmailsPayload payload = new GetUserProfilesFromEmailsPayload(
+                    List.of("imad.test@gmail.com", "ronald.test@gmail.com", "unknown@gmail.com"));
+
+            doAnswer(invocation -> {
+                Consumer<List<UserProfile>> consumer = invocation.getArgument(1);
+                consumer.accept(List.of(new UserProfile(1L, "imad.test@gmail.com", "Imad", "Bou Akl", null)));
+                consumer.accept(List.of(new UserProfile(2L, "ronald.test@gmail.com", "Ronald", "Polanco", null)));
+                return null;
+            }).when(userProfileUseCases).findByEmails(eq(payload.userProfilesEmails()), any());
+
+            // When
+            MvcResult result = mockMvc.perform(post("/api/user-profiles/find")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(payload)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(content().json("""
+                            [{"id": 1, "email": "imad.test@gmail.com", "firstName": "Imad", "lastName": "Bou Akl", "birthDate": null},
+                             {"id": 2, "email": "ronald.test@gmail.com", "firstName": "Ronald", "lastName": "Polanco", "birthDate": null}]
+                            """, true));
+        }
     }
 
-}
\ No newline at end of file
+    @Nested
+    class Browse {
+        @Test
+        void shouldReturnThePageWithTheCursorOfTheNextOne() throws Exception {
+            // Given
+            when(userProfileUseCases.browse(new BrowseCriteria(10L, 2)))
+                    .thenReturn(List.of(new UserProfile(11L, "imad.test@gmail.com", "Imad", "Bou Akl", null),
+                            new UserProfile(12L, "ronald.test@gmail.com", "Ronald", "Polanco", null)));
+
+            // When
+            mockMvc.perform(get("/api/user-profiles").param("after", "10").param("size", "2"))
+                    // Then
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("""
+                            {"profiles": [{"id": 11, "email": "imad.test@gmail.com"},
+                                          {"id": 12, "email": "ronald.test@gmail.com"}],
+                             "next": 12}
+                            """));
+        }
+
+        @Test
+        void shouldExportEveryProfileAsNdjson() throws Exception {
+            // Given
+            doAnswer(invocation -> {
+                Consumer<UserProfile> consumer = invocation.getArgument(0);
+                consumer.accept(new UserProfile(1L, "imad.test@gmail.com", "Imad", "Bou Akl", of(1983, 1, 1)));
+                consumer.accept(new UserProfile(2L, "ronald.test@gmail.com", "Ronald", "Polanco", null));
+                return null;
+            }).when(userProfileUseCases).exportAll(any());
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/user-profiles/export"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andExpect(content().string("""
+                            {"id":1,"email":"imad.test@gmail.com","firstName":"Imad","lastName":"Bou Akl","birthDate":"1983-01-01"}
+                            {"id":2,"email":"ronald.test@gmail.com","firstName":"Ronald","lastName":"Polanco","birthDate":null}
+                            """));
+        }
+    }
+
+    @Nested
+    class Changes {
+        @Test
+        void shouldLongPollTheChangesAfterTheCursor() throws Exception {
+            // Given
+            DeferredResult<UserProfileChangesDto> changes = new DeferredResult<>();
+            when(userProfileChangeFeed.changesAfter(42L, 100)).thenReturn(changes);
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/user-profiles/changes").param("after", "42"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            changes.setResult(new UserProfileChangesDto(43L, List.of(new UserProfileChangesDto.Change(43L, 1L,
+                    "imad@corp.com", "imad.test@gmail.com", Instant.parse("2024-06-01T10:00:00Z")))));
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("""
+                            {"cursor": 43, "changes": [{"id": 43, "userProfileId": 1, "email": "imad@corp.com",
+                              "previousEmail": "imad.test@gmail.com", "changedAt": "2024-06-01T10:00:00Z"}]}
+                            """, true));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.dgw.user.profile.core.service.adapter.in.rest;
+
+import com.dgw.user.profile.core.service.UserProfileServiceApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to import {@code profiles} new profiles through {@code POST /api/user-profiles/import} (NDJSON), against the
+ * service started with the {@code test} profile (in-memory H2: no network round trip, which batching saves too).
+ * Run it from the IDE, or with {@code java -cp} on the test classpath of mproject-user-profile-service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class UserProfileImportBenchmark {
+
+    @Param("100000")
+    private int profiles;
+
+    private ConfigurableApplicationContext application;
+    private HttpClient httpClient;
+    private URI importUri;
+    private byte[] body;
+    private int iteration;
+
+    @Setup
+    public void startService() {
+        application = new SpringApplicationBuilder(UserProfileServiceApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        importUri = URI.create("http://localhost:" + port + "/api/user-profiles/import");
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @Setup(Level.Iteration)
+    public void newProfiles() {
+        iteration++;
+        StringBuilder ndjson = new StringBuilder(profiles * 100);
+        for (int i = 0; i < profiles; i++) {
+            ndjson.append("{\"email\":\"member").append(i).append('.').append(iteration)
+                    .append("@corp.com\",\"firstName\":\"Member\",\"lastName\":\"N").append(i)
+                    .append("\",\"birthDate\":\"1990-01-01\"}\n");
+        }
+        body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String importProfiles() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(importUri)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (!response.body().contains("\"created\":" + profiles)) {
+            throw new IllegalStateException("Unexpected import report: " + response.body());
+        }
+        return response.body();
+    }
+
+    @TearDown
+    public void stopService() {
+        application.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserProfileImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,304 @@
+package com.dgw.user.profile.core.service.adapter.out.persistence;
+
+import com.dgw.user.profile.core.application.model.BrowseCriteria;
+import com.dgw.user.profile.core.application.model.SearchCriteria;
+import com.dgw.user.profile.core.application.model.UserProfile;
+import com.dgw.user.profile.core.application.model.UserProfileChange;
+import com.dgw.user.profile.core.service.adapter.out.persistence.mappers.UserProfileEntityMapper;
+import com.dgw.user.profile.core.service.config.UserProfileAppConfig;
+import com.dgw.user.profile.core.service.config.UserProfileCacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({JPAUserProfileRepository.class, UserProfileEntityMapper.class, UserProfileCacheConfig.class,
+        UserProfileAppConfig.class, SimpleMeterRegistry.class})
+// The chunks of a bulk lookup run on other threads, which only see committed profiles
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JPAUserProfileRepositoryTest {
+
+    @Autowired
+    private JPAUserProfileRepository userProfileRepository;
+
+    @Autowired
+    private JPAUserProfileSpringDataRepository springDataRepository;
+
+    @Autowired
+    private JPAUserProfileChangeSpringDataRepository changeRepository;
+
+    @Autowired
+    private Cache<String, UserProfile> userProfileCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        springDataRepository.deleteAll();
+        changeRepository.deleteAll();
+        userProfileCache.invalidateAll();
+    }
+
+    @Test
+    void shouldLookUpLargeEmailListsByChunks() {
+        // GIVEN
+        int profiles = 2 * JPAUserProfileRepository.EMAIL_LOOKUP_CHUNK_SIZE + 10;
+        springDataRepository.saveAll(IntStream.range(0, profiles)
+                .mapToObj(i -> new UserProfileEntity(null, "member" + i + "@corp.com", "Member", "N" + i, null))
+                .toList());
+        List<String> emails = new ArrayList<>();
+        IntStream.range(0, profiles).forEach(i -> emails.add(" Member" + i + "@Corp.com"));
+        emails.add("member0@corp.com");
+        emails.add("unknown@corp.com");
+
+        // WHEN
+        List<List<UserProfile>> batches = new CopyOnWriteArrayList<>();
+        userProfileRepository.findByEmailIn(emails, batches::add);
+
+        // THEN
+        assertThat(batches).hasSize(3);
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(profiles);
+        assertThat(batches.stream().flatMap(List::stream).map(UserProfile::email).distinct()).hasSize(profiles);
+    }
+
+    @Test
+    void shouldServeCachedProfilesAndLookUpOnlyTheOthers() {
+        // GIVEN
+        springDataRepository.saveAll(List.of(
+                new UserProfileEntity(null, "imad.test@gmail.com", "Imad", "Bou Akl", null),
+                new UserProfileEntity(null, "ronald.test@gmail.com", "Ronald", "Polanco", null)));
+        userProfileRepository.findByEmail("imad.test@gmail.com");
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        // WHEN
+        List<List<UserProfile>> batches = new ArrayList<>();
+        userProfileRepository.findByEmailIn(List.of("ronald.test@gmail.com", "Imad.Test@gmail.com"), batches::add);
+
+        // THEN
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).extracting(UserProfile::email).containsExactly("imad.test@gmail.com");
+        assertThat(batches.get(1)).extracting(UserProfile::email).containsExactly("ronald.test@gmail.com");
+        assertThat(cacheGets("hit") - hits).isEqualTo(1);
+        assertThat(cacheGets("miss") - misses).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefreshCacheWhenEmailChanges() {
+        // GIVEN
+        UserProfile userProfile = userProfileRepository.save(
+                new UserProfile("imad.test@gmail.com", "Imad", "Bou Akl", null));
+        double hits = cacheGets("hit");
+
+        // WHEN
+        userProfileRepository.update(new UserProfile(userProfile.id(), "imad@corp.com", "Imad", "Bou-Akl", null));
+
+        // THEN
+        assertThat(userProfileRepository.findByEmail("imad.test@gmail.com")).isEmpty();
+        assertThat(springDataRepository.findByNormalizedEmail("imad@corp.com")).isPresent();
+        assertThat(userProfileRepository.search(new SearchCriteria("bou-akl"))).extracting(UserProfile::id)
+                .containsExactly(userProfile.id());
+        assertThat(userProfileRepository.findByEmail("imad@corp.com"))
+                .hasValueSatisfying(updated -> assertThat(updated.id()).isEqualTo(userProfile.id()));
+        assertThat(cacheGets("hit") - hits).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotUpdateUnknownProfile() {
+        // WHEN
+        Optional<UserProfile> updated = userProfileRepository.update(
+                new UserProfile(404L, "imad.test@gmail.com", "Imad", "Bou Akl", null));
+
+        // THEN
+        assertThat(updated).isEmpty();
+        assertThat(springDataRepository.count()).isZero();
+        assertThat(userProfileRepository.findByEmail("imad.test@gmail.com")).isEmpty();
+    }
+
+    @Test
+    void shouldUpsertBatchByEmail() {
+        // GIVEN
+        UserProfile existing = userProfileRepository.save(
+                new UserProfile("imad.test@gmail.com", "Imad", "Bou Akl", null));
+
+        // WHEN
+        int created = userProfileRepository.upsertAllByEmail(List.of(
+                new UserProfile(null, "IMAD.TEST@gmail.com", "Imad", "Bou-Akl", LocalDate.of(1983, 1, 1)),
+                new UserProfile(null, "ronald.test@gmail.com", "Ronald", "Polanco", null),
+                new UserProfile(null, "Ronald.Test@gmail.com", "Ronald", "Polanco Jr", null)));
+
+        // THEN
+        assertThat(created).isEqualTo(1);
+        assertThat(springDataRepository.count()).isEqualTo(2);
+        assertThat(userProfileRepository.findByEmail("imad.test@gmail.com")).hasValue(new UserProfile(existing.id(),
+                "IMAD.TEST@gmail.com", "Imad", "Bou-Akl", LocalDate.of(1983, 1, 1)));
+        assertThat(springDataRepository.findByNormalizedEmail("ronald.test@gmail.com"))
+                .hasValueSatisfying(ronald -> assertThat(ronald.getLastName()).isEqualTo("Polanco Jr"));
+        assertThat(userProfileRepository.search(new SearchCriteria("bou-akl"))).extracting(UserProfile::id)
+                .containsExactly(existing.id());
+    }
+
+    @Test
+    void shouldRecordEveryChangeWithItsPreviousEmail() {
+        // GIVEN
+        UserProfile imad = userProfileRepository.save(new UserProfile("imad.test@gmail.com", "Imad", "Bou Akl", null));
+        long cursor = userProfileRepository.findChangesAfter(0, 10).get(0).id();
+
+        // WHEN
+        userProfileRepository.update(new UserProfile(imad.id(), "Imad@Corp.com", "Imad", "Bou Akl", null));
+        userProfileRepository.update(new UserProfile(404L, "unknown@corp.com", "Unknown", "Unknown", null));
+        userProfileRepository.upsertAllByEmail(List.of(
+                new UserProfile(null, "imad@corp.com", "Imad", "Bou-Akl", null),
+                new UserProfile(null, "ronald.test@gmail.com", "Ronald", "Polanco", null)));
+
+        // THEN
+        List<UserProfileChange> changes = userProfileRepository.findChangesAfter(cursor, 10);
+        assertThat(changes).extracting(UserProfileChange::userProfileId, UserProfileChange::email,
+                        UserProfileChange::previousEmail)
+                .containsExactlyInAnyOrder(
+                        tuple(imad.id(), "imad@corp.com", "imad.test@gmail.com"),
+                        tuple(imad.id(), "imad@corp.com", null),
+                        tuple(springDataRepository.findByNormalizedEmail("ronald.test@gmail.com").orElseThrow().getId(),
+                                "ronald.test@gmail.com", null));
+        assertThat(changes.get(0).previousEmail()).isEqualTo("imad.test@gmail.com");
+        assertThat(changes).extracting(UserProfileChange::id).isSorted();
+        assertThat(userProfileRepository.findChangesAfter(changes.get(2).id(), 10)).isEmpty();
+    }
+
+    @Test
+    void shouldIndexProfilesWrittenThroughAnotherInstance() {
+        // GIVEN profiles written and recorded as another instance does, without touching the index of this one
+        UserProfileEntity ronald = springDataRepository.save(
+                new UserProfileEntity(null, "ronald.test@gmail.com", "Ronald", "Polanco", null));
+        changeRepository.recordChanges(List.of("ronald.test@gmail.com"), Instant.now());
+        userProfileRepository.refreshSearchIndex();
+        springDataRepository.updateById(ronald.getId(), "ronald.test@gmail.com", "ronald.test@gmail.com",
+                "Ronald", "Sanchez", null);
+        changeRepository.recordChange(ronald.getId(), "ronald.test@gmail.com", Instant.now());
+
+        // WHEN
+        userProfileRepository.refreshSearchIndex();
+
+        // THEN
+        assertThat(userProfileRepository.search(new SearchCriteria("sanchez"))).extracting(UserProfile::id)
+                .containsExactly(ronald.getId());
+        assertThat(userProfileRepository.search(new SearchCriteria("polanco"))).isEmpty();
+    }
+
+    @Test
+    void shouldRefreshCachedProfilesUpdatedThroughAnotherInstance() {
+        // GIVEN a cached profile whose name, not its email, is updated by another instance
+        UserProfile ronald = userProfileRepository.save(
+                new UserProfile("ronald.test@gmail.com", "Ronald", "Polanco", null));
+        userProfileRepository.refreshSearchIndex();
+        assertThat(userProfileRepository.findByEmail("ronald.test@gmail.com")).isPresent();
+        springDataRepository.updateById(ronald.id(), "ronald.test@gmail.com", "ronald.test@gmail.com",
+                "Ronald", "Sanchez", null);
+        changeRepository.recordChange(ronald.id(), "ronald.test@gmail.com", Instant.now());
+
+        // WHEN
+        userProfileRepository.refreshSearchIndex();
+
+        // THEN
+        assertThat(userProfileRepository.findByEmail("ronald.test@gmail.com"))
+                .hasValueSatisfying(cached -> assertThat(cached.lastName()).isEqualTo("Sanchez"));
+    }
+
+    @Test
+    void shouldBrowseAndExportEveryProfileInIdOrder() {
+        // GIVEN
+        int profiles = JPAUserProfileSpringDataRepository.EXPORT_FETCH_SIZE + 10;
+        springDataRepository.saveAll(IntStream.range(0, profiles)
+                .mapToObj(i -> new UserProfileEntity(null, "member" + i + "@corp.com", "Member", "N" + i, null))
+                .toList());
+
+        // WHEN
+        List<UserProfile> firstPage = userProfileRepository.browse(new BrowseCriteria(0, 300));
+        List<UserProfile> lastPage = userProfileRepository.browse(
+                new BrowseCriteria(firstPage.get(firstPage.size() - 1).id(), 300));
+        List<UserProfile> exported = new ArrayList<>();
+        userProfileRepository.exportAll(exported::add);
+
+        // THEN
+        assertThat(firstPage).hasSize(300);
+        assertThat(lastPage).hasSize(profiles - 300);
+        List<UserProfile> browsed = new ArrayList<>(firstPage);
+        browsed.addAll(lastPage);
+        assertThat(exported).isEqualTo(browsed);
+        assertThat(exported).extracting(UserProfile::id).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldFindByEmailIgnoringCase() {
+        // GIVEN
+        userProfileRepository.save(new UserProfile("Imad.Test@gmail.com", "Imad", "Bou Akl", LocalDate.of(1983, 1, 1)));
+
+        // WHEN / THEN
+        assertThat(userProfileRepository.findByEmail("imad.test@GMAIL.com"))
+                .hasValueSatisfying(userProfile -> assertThat(userProfile.email()).isEqualTo("Imad.Test@gmail.com"));
+    }
+
+    @Test
+    void shouldBackfillNormalizedEmailsSkippingCollidingOnes() {
+        // GIVEN profiles written before the normalized email existed, two of them differing by case and spaces only
+        String insert = "INSERT INTO user_profile (id, email, first_name, last_name) VALUES (?, ?, ?, ?)";
+        jdbcTemplate.update(insert, 900_001L, "Imad.Test@gmail.com", "Imad", "Bou Akl");
+        jdbcTemplate.update(insert, 900_002L, " imad.test@gmail.com", "Imad", "Bou Akl");
+        jdbcTemplate.update(insert, 900_003L, "ronald.test@gmail.com", "Ronald", "Polanco");
+
+        // WHEN
+        int backfilled = userProfileRepository.backfillNormalizedEmails();
+
+        // THEN
+        assertThat(backfilled).isEqualTo(2);
+        assertThat(springDataRepository.findByNormalizedEmail("imad.test@gmail.com"))
+                .hasValueSatisfying(imad -> assertThat(imad.getId()).isEqualTo(900_001L));
+        assertThat(springDataRepository.findById(900_002L))
+                .hasValueSatisfying(duplicate -> assertThat(duplicate.getNormalizedEmail()).isNull());
+        assertThat(springDataRepository.findByNormalizedEmail("ronald.test@gmail.com")).isPresent();
+    }
+
+    @Test
+    void shouldRejectEmailAlreadyUsedWithAnotherCase() {
+        // GIVEN
+        userProfileRepository.save(new UserProfile("imad.test@gmail.com", "Imad", "Bou Akl", null));
+        UserProfile duplicate = new UserProfile("IMAD.TEST@gmail.com", "Imad", "Bou Akl", null);
+
+        // WHEN / THEN
+        assertThrows(DataIntegrityViolationException.class, () -> userProfileRepository.save(duplicate));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", UserProfileCacheConfig.CACHE_NAME, "result", result)
+                .functionCounter()
+                .count();
+    }
+}
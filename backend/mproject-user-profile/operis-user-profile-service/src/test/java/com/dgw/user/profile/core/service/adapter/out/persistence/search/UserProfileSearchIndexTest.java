@@ -0,0 +1,75 @@
+package com.dgw.user.profile.core.service.adapter.out.persistence.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileSearchIndexTest {
+
+    private final UserProfileSearchIndex searchIndex = new UserProfileSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        searchIndex.put(1L, "Joanna", "Polanco", "joanna.polanco@gmail.com");
+        searchIndex.put(2L, "Annabel", "Bou Akl", "annabel@gmail.com");
+        searchIndex.put(3L, "Ann", "Smith", "a.smith@gmail.com");
+        searchIndex.put(4L, "Élodie", "Dupont-Anne", "elodie.dupont@gmail.com");
+        searchIndex.put(5L, "Ronald", "Polanco", "ronald.test@gmail.com");
+    }
+
+    @Test
+    void shouldRankWholeFieldThenStartOfWordThenAnywhere() {
+        // WHEN
+        List<Long> ids = searchIndex.search("ann", 0, 10);
+
+        // THEN
+        assertThat(ids).containsExactly(3L, 2L, 4L, 1L);
+    }
+
+    @Test
+    void shouldMatchShortTermsOnStartOfWordsOnly() {
+        // WHEN / THEN
+        assertThat(searchIndex.search("a", 0, 10)).containsExactly(3L, 2L, 4L);
+        assertThat(searchIndex.search("ak", 0, 10)).containsExactly(2L);
+        assertThat(searchIndex.search("kl", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldMatchEveryTermIgnoringCaseAndAccents() {
+        // WHEN / THEN
+        assertThat(searchIndex.search("ELODIE", 0, 10)).containsExactly(4L);
+        assertThat(searchIndex.search("  polanco   ron ", 0, 10)).containsExactly(5L);
+        assertThat(searchIndex.search("ronald.test", 0, 10)).containsExactly(5L);
+        assertThat(searchIndex.search("gmail", 0, 10)).isEmpty();
+        assertThat(searchIndex.search("polanco smith", 0, 10)).isEmpty();
+        assertThat(searchIndex.search(" ", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReindexUpdatedProfile() {
+        // WHEN
+        searchIndex.put(5L, "Ronaldo", "Nazario", "ronaldo@gmail.com");
+
+        // THEN
+        assertThat(searchIndex.search("polanco", 0, 10)).containsExactly(1L);
+        assertThat(searchIndex.search("nazar", 0, 10)).containsExactly(5L);
+        assertThat(searchIndex.search("ronald", 0, 10)).containsExactly(5L);
+        assertThat(searchIndex.size()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldPaginateBestMatchesUpToMaxResults() {
+        // GIVEN
+        LongStream.rangeClosed(10, 2_009).forEach(id -> searchIndex.put(id, "Member", "N" + id, "member" + id + "@corp.com"));
+
+        // WHEN / THEN
+        assertThat(searchIndex.search("member", 0, 3)).containsExactly(10L, 100L, 1000L);
+        assertThat(searchIndex.search("member", 3, 3)).containsExactly(1001L, 1002L, 1003L);
+        assertThat(searchIndex.search("member", UserProfileSearchIndex.MAX_RESULTS - 2, 5)).hasSize(2);
+        assertThat(searchIndex.search("member", UserProfileSearchIndex.MAX_RESULTS, 5)).isEmpty();
+    }
+}